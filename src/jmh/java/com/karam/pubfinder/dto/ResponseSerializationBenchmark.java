@@ -0,0 +1,86 @@
+package com.karam.pubfinder.dto;
+
+import org.openjdk.jmh.annotations.*;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.json.JsonMapper;
+import tools.jackson.dataformat.cbor.CBORMapper;
+import tools.jackson.dataformat.smile.SmileMapper;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson serialization of the list payloads returned by the pub and review endpoints, in each
+ * format the API negotiates. Payload sizes are printed at setup.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ResponseSerializationBenchmark {
+
+    @Param({"10", "100", "1000"})
+    private int size;
+
+    @Param({"json", "cbor", "smile"})
+    private String format;
+
+    private ObjectMapper mapper;
+    private List<PubResponse> pubs;
+    private List<ReviewResponse> reviews;
+
+    @Setup
+    public void setUp() {
+        mapper = switch (format) {
+            case "cbor" -> CBORMapper.builder().build();
+            case "smile" -> SmileMapper.builder().build();
+            default -> JsonMapper.builder().build();
+        };
+        pubs = new ArrayList<>(size);
+        reviews = new ArrayList<>(size);
+
+        LocalDateTime now = LocalDateTime.now();
+        for (long i = 1; i <= size; i++) {
+            pubs.add(PubResponse.builder()
+                    .id(i)
+                    .title("The Red Lion " + i)
+                    .shortDescription("Traditional English pub")
+                    .longDescription("A traditional British pub with great atmosphere and local ales")
+                    .menuUrl("https://redlion.com/menu")
+                    .imageUrl("https://redlion.com/image.jpg")
+                    .rating(new BigDecimal("4.5"))
+                    .createdAt(now)
+                    .updatedAt(now)
+                    .build());
+
+            reviews.add(ReviewResponse.builder()
+                    .id(i)
+                    .userId(i % 100)
+                    .username("user" + (i % 100))
+                    .pubId(1L)
+                    .pubTitle("The Red Lion")
+                    .content("A perfectly ordinary review of a perfectly ordinary pub #" + i)
+                    .rate((int) (i % 6))
+                    .likeCount((int) (i % 50))
+                    .createdAt(now)
+                    .updatedAt(now)
+                    .isLikedByCurrentUser(i % 3 == 0)
+                    .build());
+        }
+
+        System.out.printf("%n%s, %d items: pubs %d bytes, reviews %d bytes%n", format, size,
+                mapper.writeValueAsBytes(pubs).length, mapper.writeValueAsBytes(reviews).length);
+    }
+
+    @Benchmark
+    public byte[] serializePubs() {
+        return mapper.writeValueAsBytes(pubs);
+    }
+
+    @Benchmark
+    public byte[] serializeReviews() {
+        return mapper.writeValueAsBytes(reviews);
+    }
+}
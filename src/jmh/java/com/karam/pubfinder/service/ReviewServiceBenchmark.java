@@ -0,0 +1,99 @@
+package com.karam.pubfinder.service;
+
+import com.karam.pubfinder.dto.ReviewResponse;
+import com.karam.pubfinder.entity.Pub;
+import com.karam.pubfinder.entity.Review;
+import com.karam.pubfinder.entity.User;
+import com.karam.pubfinder.repository.PubRatingStatsRepository;
+import com.karam.pubfinder.repository.PubRepository;
+import com.karam.pubfinder.repository.ReviewLikeRepository;
+import com.karam.pubfinder.repository.ReviewRepository;
+import com.karam.pubfinder.repository.UserRepository;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Mapping and rating aggregation in {@link ReviewService}, with repositories stubbed so
+ * only the in-memory work is measured.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ReviewServiceBenchmark {
+
+    @Param({"10", "100", "1000"})
+    private int reviewCount;
+
+    @Param({"0", "100", "10000"})
+    private int likedCount;
+
+    private ReviewService reviewService;
+    private List<Review> reviews;
+
+    @Setup
+    public void setUp() {
+        ReviewRepository reviewRepository = mock(ReviewRepository.class);
+        PubRepository pubRepository = mock(PubRepository.class);
+        ReviewLikeRepository reviewLikeRepository = mock(ReviewLikeRepository.class);
+
+        User user = User.builder().id(1L).username("benchuser").build();
+        Pub pub = Pub.builder().id(1L).title("The Red Lion").rating(BigDecimal.ZERO).build();
+
+        reviews = new ArrayList<>(reviewCount);
+        for (long i = 1; i <= reviewCount; i++) {
+            reviews.add(Review.builder()
+                    .id(i)
+                    .user(user)
+                    .pub(pub)
+                    .content("A perfectly ordinary review of a perfectly ordinary pub #" + i)
+                    .rate((int) (i % 6))
+                    .likeCount((int) (i % 50))
+                    .createdAt(LocalDateTime.now())
+                    .updatedAt(LocalDateTime.now())
+                    .build());
+        }
+
+        // Every other liked id hits a review in the list
+        Set<Long> likedIds = new HashSet<>();
+        for (long i = 1; i <= likedCount; i++) {
+            likedIds.add(i * 2);
+        }
+
+        when(reviewLikeRepository.findLikedReviewIdsByUserId(anyLong())).thenReturn(likedIds);
+        when(reviewRepository.findByPubId(anyLong())).thenReturn(reviews);
+        when(pubRepository.findById(anyLong())).thenReturn(Optional.of(pub));
+        when(pubRepository.save(any(Pub.class))).thenReturn(pub);
+
+        reviewService = new ReviewService(reviewRepository, mock(UserRepository.class), pubRepository, reviewLikeRepository,
+                mock(PubRatingStatsRepository.class), mock(ApplicationEventPublisher.class));
+    }
+
+    @Benchmark
+    public List<ReviewResponse> mapToResponseList() {
+        return reviewService.mapToResponseList(reviews, 1L);
+    }
+
+    @Benchmark
+    public List<ReviewResponse> mapToResponseListAnonymous() {
+        return reviewService.mapToResponseList(reviews, null);
+    }
+
+    @Benchmark
+    public void updatePubRating() {
+        reviewService.updatePubRating(1L);
+    }
+}
@@ -0,0 +1,45 @@
+package com.karam.pubfinder.utils;
+
+import io.jsonwebtoken.Claims;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token issue (login/register) and verification (every authenticated request).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class JwtUtilBenchmark {
+
+    private static final String SECRET =
+            "benchmark-secret-benchmark-secret-benchmark-secret-benchmark-secret-0123456789";
+
+    private JwtUtil jwtUtil;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtUtil = new JwtUtil();
+        ReflectionTestUtils.setField(jwtUtil, "secret", SECRET);
+        ReflectionTestUtils.setField(jwtUtil, "expiration", 86_400_000L);
+        token = jwtUtil.generateToken(42L, "benchuser");
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtUtil.generateToken(42L, "benchuser");
+    }
+
+    @Benchmark
+    public boolean validateToken() {
+        return jwtUtil.validateToken(token);
+    }
+
+    @Benchmark
+    public Claims parseClaims() {
+        return jwtUtil.parseClaims(token);
+    }
+}
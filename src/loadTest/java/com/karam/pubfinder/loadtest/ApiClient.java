@@ -0,0 +1,75 @@
+package com.karam.pubfinder.loadtest;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.concurrent.Executor;
+
+/**
+ * Thin HTTP client for the API under test. Each call returns the status and body and
+ * records its latency against a scenario.
+ */
+public class ApiClient {
+
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+
+    private final HttpClient httpClient;
+    private final String baseUrl;
+
+    public ApiClient(String baseUrl, Executor executor) {
+        this.baseUrl = baseUrl;
+        this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .executor(executor)
+                .build();
+    }
+
+    public record Result(int status, String body) {
+    }
+
+    public Result get(String path, String token, ScenarioStats stats) {
+        return send(request(path, token).GET().build(), stats);
+    }
+
+    public Result post(String path, String token, String json, ScenarioStats stats) {
+        return send(request(path, token)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(json))
+                .build(), stats);
+    }
+
+    public Result delete(String path, String token, ScenarioStats stats) {
+        return send(request(path, token).DELETE().build(), stats);
+    }
+
+    private HttpRequest.Builder request(String path, String token) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUrl + path)).timeout(REQUEST_TIMEOUT);
+        if (token != null) {
+            builder.header("Authorization", "Bearer " + token);
+        }
+        return builder;
+    }
+
+    private Result send(HttpRequest request, ScenarioStats stats) {
+        long start = System.nanoTime();
+        try {
+            HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+            if (stats != null) {
+                stats.record(response.statusCode(), System.nanoTime() - start);
+            }
+            return new Result(response.statusCode(), response.body());
+        } catch (IOException e) {
+            if (stats != null) {
+                stats.recordFailure();
+            }
+            return new Result(-1, e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return new Result(-1, "interrupted");
+        }
+    }
+}
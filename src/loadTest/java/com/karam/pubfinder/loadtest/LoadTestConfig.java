@@ -0,0 +1,77 @@
+package com.karam.pubfinder.loadtest;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Load test settings, read from {@code -Dloadtest.*} system properties. Anything under
+ * {@code loadtest.app.} is passed to the application unchanged, e.g.
+ * {@code -Dloadtest.app.spring.threads.virtual.enabled=true} to compare threading modes.
+ */
+public record LoadTestConfig(
+        String jdbcUrl,
+        String dbUsername,
+        String dbPassword,
+        String dbSchema,
+        Duration warmup,
+        Duration duration,
+        int virtualUsers,
+        int pubs,
+        int hotReviews,
+        int loginBurstSize,
+        Map<Scenario, Integer> mix,
+        Map<Scenario, Long> p99SloMillis,
+        double maxErrorRate,
+        String reportFile,
+        Map<String, String> appProperties) {
+
+    private static final String PREFIX = "loadtest.";
+    private static final String APP_PREFIX = PREFIX + "app.";
+
+    private static final String DEFAULT_MIX = "browse-pubs=35,pub-reviews-anonymous=25,pub-reviews-authenticated=20,"
+            + "login-burst=5,create-review=5,like-storm=10";
+    private static final String DEFAULT_SLO = "browse-pubs=50,pub-reviews-anonymous=100,pub-reviews-authenticated=100,"
+            + "login-burst=400,create-review=150,like-storm=100";
+
+    public static LoadTestConfig fromSystemProperties() {
+        Map<String, String> appProperties = new HashMap<>();
+        System.getProperties().stringPropertyNames().stream()
+                .filter(name -> name.startsWith(APP_PREFIX))
+                .forEach(name -> appProperties.put(name.substring(APP_PREFIX.length()), System.getProperty(name)));
+
+        return new LoadTestConfig(
+                property("jdbc-url", "jdbc:postgresql://localhost:5432/pubs_db"),
+                property("db-username", "pubs_user"),
+                property("db-password", "pubs_password"),
+                property("db-schema", "loadtest"),
+                Duration.ofSeconds(Long.parseLong(property("warmup-seconds", "10"))),
+                Duration.ofSeconds(Long.parseLong(property("duration-seconds", "60"))),
+                Integer.parseInt(property("virtual-users", "200")),
+                Integer.parseInt(property("pubs", "50")),
+                Integer.parseInt(property("hot-reviews", "10")),
+                Integer.parseInt(property("login-burst-size", "5")),
+                parseScenarioMap(property("mix", DEFAULT_MIX), Integer::parseInt),
+                parseScenarioMap(property("slo.p99-ms", DEFAULT_SLO), Long::parseLong),
+                Double.parseDouble(property("slo.max-error-rate", "0.01")),
+                property("report-file", "build/results/loadtest/summary.json"),
+                appProperties);
+    }
+
+    private static String property(String name, String defaultValue) {
+        return System.getProperty(PREFIX + name, defaultValue);
+    }
+
+    private static <T> Map<Scenario, T> parseScenarioMap(String value, java.util.function.Function<String, T> parser) {
+        Map<Scenario, T> result = new EnumMap<>(Scenario.class);
+        for (String entry : value.split(",")) {
+            String[] parts = entry.trim().split("=");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Expected scenario=value but got: " + entry);
+            }
+            result.put(Scenario.fromKey(parts[0].trim()), parser.apply(parts[1].trim()));
+        }
+        return result;
+    }
+}
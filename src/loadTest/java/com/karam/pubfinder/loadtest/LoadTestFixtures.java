@@ -0,0 +1,118 @@
+package com.karam.pubfinder.loadtest;
+
+import com.karam.pubfinder.dto.AuthResponse;
+import com.karam.pubfinder.entity.Pub;
+import com.karam.pubfinder.entity.Review;
+import com.karam.pubfinder.entity.User;
+import com.karam.pubfinder.repository.PubRepository;
+import com.karam.pubfinder.repository.ReviewRepository;
+import com.karam.pubfinder.repository.UserRepository;
+import org.springframework.context.ApplicationContext;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.random.RandomGenerator;
+
+/**
+ * Seed data for the run: pubs, one account per virtual user, and a handful of hot reviews
+ * that the like storm targets. Seeding goes through the application's repositories; the
+ * accounts then log in over HTTP like real clients.
+ */
+public class LoadTestFixtures {
+
+    public static final String PASSWORD = "loadtest-password";
+
+    private final List<Long> pubIds;
+    private final List<Long> hotReviewIds;
+    private final List<String> usernames;
+    private final List<String> tokens = new ArrayList<>();
+
+    private LoadTestFixtures(List<Long> pubIds, List<Long> hotReviewIds, List<String> usernames) {
+        this.pubIds = pubIds;
+        this.hotReviewIds = hotReviewIds;
+        this.usernames = usernames;
+    }
+
+    public static LoadTestFixtures seed(ApplicationContext app, LoadTestConfig config) {
+        PubRepository pubRepository = app.getBean(PubRepository.class);
+        UserRepository userRepository = app.getBean(UserRepository.class);
+        ReviewRepository reviewRepository = app.getBean(ReviewRepository.class);
+
+        List<Pub> pubs = pubRepository.findAll();
+        for (int i = pubs.size(); i < config.pubs(); i++) {
+            pubs.add(pubRepository.save(Pub.builder()
+                    .title("Load Test Arms " + i)
+                    .shortDescription("Seeded by the load test")
+                    .longDescription("A pub that only exists to be browsed very quickly by the load test.")
+                    .rating(BigDecimal.ZERO)
+                    .build()));
+        }
+
+        // One BCrypt hash shared by every load test account keeps seeding fast
+        String passwordHash = app.getBean(PasswordEncoder.class).encode(PASSWORD);
+        List<String> usernames = new ArrayList<>();
+        List<User> users = new ArrayList<>();
+        for (int i = 0; i < config.virtualUsers(); i++) {
+            String username = "loaduser" + i;
+            usernames.add(username);
+            users.add(userRepository.findByUsername(username).orElseGet(() -> userRepository.save(User.builder()
+                    .username(username)
+                    .password(passwordHash)
+                    .name("Load")
+                    .surname("User")
+                    .email(username + "@loadtest.local")
+                    .build())));
+        }
+
+        List<Long> hotReviewIds = new ArrayList<>();
+        for (int i = 0; i < config.hotReviews(); i++) {
+            Review review = reviewRepository.save(Review.builder()
+                    .user(users.get(i % users.size()))
+                    .pub(pubs.get(i % Math.min(5, pubs.size())))
+                    .content("A hot review everybody wants to like #" + i)
+                    .rate(4)
+                    .likeCount(0)
+                    .build());
+            hotReviewIds.add(review.getId());
+        }
+
+        return new LoadTestFixtures(pubs.stream().map(Pub::getId).toList(), hotReviewIds, usernames);
+    }
+
+    public void logIn(ApiClient api, JsonMapper jsonMapper) {
+        for (String username : usernames) {
+            ApiClient.Result result = api.post("/auth/login", null, loginBody(username), null);
+            if (result.status() != 200) {
+                throw new IllegalStateException("Login failed for " + username + ": " + result.status() + " " + result.body());
+            }
+            tokens.add(jsonMapper.readValue(result.body(), AuthResponse.class).getToken());
+        }
+    }
+
+    /**
+     * Pub ids skewed towards the first few pubs, so a handful of them are "featured".
+     */
+    public long pickPub(RandomGenerator random) {
+        double skewed = Math.pow(random.nextDouble(), 3);
+        return pubIds.get((int) (skewed * pubIds.size()));
+    }
+
+    public long pickHotReview(RandomGenerator random) {
+        return hotReviewIds.get(random.nextInt(hotReviewIds.size()));
+    }
+
+    public String username(int virtualUser) {
+        return usernames.get(virtualUser);
+    }
+
+    public String token(int virtualUser) {
+        return tokens.get(virtualUser);
+    }
+
+    public static String loginBody(String username) {
+        return "{\"username\":\"" + username + "\",\"password\":\"" + PASSWORD + "\"}";
+    }
+}
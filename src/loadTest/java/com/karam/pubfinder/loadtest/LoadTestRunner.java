@@ -0,0 +1,210 @@
+package com.karam.pubfinder.loadtest;
+
+import com.karam.pubfinder.PubfinderApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Boots the application on a random port against a local Postgres (a dedicated schema of
+ * the docker-compose database by default), replays the configured traffic mix from virtual
+ * users and reports throughput and latency percentiles per scenario.
+ * <p>
+ * Exits with status 1 when any scenario misses its p99 SLO or the error budget, so it can
+ * gate performance changes.
+ */
+public class LoadTestRunner {
+
+    private static final String[] SORT_OPTIONS = {"", "?sortBy=asc", "?sortBy=desc"};
+
+    private final LoadTestConfig config;
+    private final ApiClient api;
+    private final LoadTestFixtures fixtures;
+    private final TrafficMix mix;
+    private final Map<Scenario, ScenarioStats> stats = new EnumMap<>(Scenario.class);
+
+    private volatile long measureFrom;
+
+    private LoadTestRunner(LoadTestConfig config, ApiClient api, LoadTestFixtures fixtures) {
+        this.config = config;
+        this.api = api;
+        this.fixtures = fixtures;
+        this.mix = new TrafficMix(config.mix());
+        for (Scenario scenario : Scenario.values()) {
+            stats.put(scenario, new ScenarioStats());
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestConfig config = LoadTestConfig.fromSystemProperties();
+        JsonMapper jsonMapper = JsonMapper.builder().build();
+        boolean passed;
+
+        try (ConfigurableApplicationContext app = startApplication(config);
+             ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+
+            int port = app.getEnvironment().getRequiredProperty("local.server.port", Integer.class);
+            ApiClient api = new ApiClient("http://localhost:" + port, executor);
+
+            LoadTestFixtures fixtures = LoadTestFixtures.seed(app, config);
+            fixtures.logIn(api, jsonMapper);
+
+            LoadTestRunner runner = new LoadTestRunner(config, api, fixtures);
+            runner.run(executor);
+            passed = runner.report(jsonMapper);
+        }
+
+        System.exit(passed ? 0 : 1);
+    }
+
+    private static ConfigurableApplicationContext startApplication(LoadTestConfig config) {
+        Map<String, Object> properties = new HashMap<>();
+        properties.put("server.port", 0);
+        properties.put("spring.datasource.url", withSchema(config.jdbcUrl(), config.dbSchema()));
+        properties.put("spring.datasource.username", config.dbUsername());
+        properties.put("spring.datasource.password", config.dbPassword());
+        properties.put("spring.jpa.properties.hibernate.default_schema", config.dbSchema());
+        properties.put("spring.jpa.properties.hibernate.hbm2ddl.create_namespaces", true);
+        // Login bursts all come from 127.0.0.1; the limiter is not what is being measured
+        properties.put("rate-limit.auth.ip.capacity", 1_000_000);
+        properties.put("rate-limit.auth.ip.refill-per-minute", 1_000_000);
+        properties.put("rate-limit.auth.account.capacity", 1_000_000);
+        properties.put("rate-limit.auth.account.refill-per-minute", 1_000_000);
+        properties.put("logging.level.com.karam.pubfinder", "INFO");
+        if (System.getProperty("secret-key") == null && System.getenv("secret-key") == null) {
+            byte[] secret = new byte[64];
+            new SecureRandom().nextBytes(secret);
+            properties.put("secret-key", HexFormat.of().formatHex(secret));
+        }
+        properties.putAll(config.appProperties());
+
+        return new SpringApplicationBuilder(PubfinderApplication.class)
+                .properties(properties)
+                .run();
+    }
+
+    private static String withSchema(String jdbcUrl, String schema) {
+        return jdbcUrl + (jdbcUrl.contains("?") ? "&" : "?") + "currentSchema=" + schema;
+    }
+
+    private void run(ExecutorService executor) throws InterruptedException {
+        long start = System.nanoTime();
+        measureFrom = start + config.warmup().toNanos();
+        long deadline = measureFrom + config.duration().toNanos();
+
+        System.out.printf("Running %d virtual users: %ds warmup, %ds measured%n",
+                config.virtualUsers(), config.warmup().toSeconds(), config.duration().toSeconds());
+
+        List<Future<?>> users = new ArrayList<>();
+        for (int vu = 0; vu < config.virtualUsers(); vu++) {
+            int virtualUser = vu;
+            users.add(executor.submit(() -> runVirtualUser(virtualUser, deadline)));
+        }
+        for (Future<?> user : users) {
+            try {
+                user.get(config.warmup().plus(config.duration()).plus(Duration.ofMinutes(1)).toMillis(),
+                        TimeUnit.MILLISECONDS);
+            } catch (ExecutionException | TimeoutException e) {
+                System.err.println("Virtual user failed: " + e);
+            }
+        }
+    }
+
+    private void runVirtualUser(int virtualUser, long deadline) {
+        SplittableRandom random = new SplittableRandom(virtualUser);
+        String token = fixtures.token(virtualUser);
+
+        while (System.nanoTime() < deadline) {
+            Scenario scenario = mix.next(random);
+            // Requests made during warmup are sent but not recorded
+            ScenarioStats recorder = System.nanoTime() >= measureFrom ? stats.get(scenario) : null;
+
+            switch (scenario) {
+                case BROWSE_PUBS -> api.get("/pubs" + SORT_OPTIONS[random.nextInt(SORT_OPTIONS.length)], null, recorder);
+                case PUB_REVIEWS_ANONYMOUS -> api.get("/reviews/pub/" + fixtures.pickPub(random), null, recorder);
+                case PUB_REVIEWS_AUTHENTICATED -> api.get("/reviews/pub/" + fixtures.pickPub(random), token, recorder);
+                case LOGIN_BURST -> {
+                    String body = LoadTestFixtures.loginBody(fixtures.username(virtualUser));
+                    for (int i = 0; i < config.loginBurstSize(); i++) {
+                        api.post("/auth/login", null, body, recorder);
+                    }
+                }
+                case CREATE_REVIEW -> api.post("/reviews", token,
+                        "{\"pubId\":" + fixtures.pickPub(random)
+                                + ",\"content\":\"Load test review from virtual user " + virtualUser
+                                + "\",\"rate\":" + random.nextInt(6) + "}", recorder);
+                case LIKE_STORM -> {
+                    long reviewId = fixtures.pickHotReview(random);
+                    api.post("/reviews/" + reviewId + "/like", token, "", recorder);
+                    api.delete("/reviews/" + reviewId + "/like", token, recorder);
+                }
+            }
+        }
+    }
+
+    private boolean report(JsonMapper jsonMapper) throws IOException {
+        double seconds = config.duration().toMillis() / 1000.0;
+        boolean passed = true;
+        Map<String, Object> summary = new LinkedHashMap<>();
+
+        System.out.printf("%n%-28s %9s %9s %8s %8s %8s %8s %8s %8s%n",
+                "scenario", "requests", "req/s", "errors", "p50 ms", "p95 ms", "p99 ms", "max ms", "SLO");
+
+        for (Map.Entry<Scenario, ScenarioStats> entry : stats.entrySet()) {
+            Scenario scenario = entry.getKey();
+            ScenarioStats result = entry.getValue();
+            if (result.getRequests() == 0) {
+                continue;
+            }
+
+            double p99 = result.percentileMillis(99);
+            Long slo = config.p99SloMillis().get(scenario);
+            boolean scenarioPassed = (slo == null || p99 <= slo) && result.getErrorRate() <= config.maxErrorRate();
+            passed &= scenarioPassed;
+
+            System.out.printf("%-28s %9d %9.1f %8d %8.2f %8.2f %8.2f %8.2f %8s%n",
+                    scenario.getKey(), result.getRequests(), result.getRequests() / seconds, result.getErrors(),
+                    result.percentileMillis(50), result.percentileMillis(95), p99, result.maxMillis(),
+                    scenarioPassed ? "ok" : "FAIL");
+
+            Map<String, Object> row = new LinkedHashMap<>();
+            row.put("requests", result.getRequests());
+            row.put("throughputPerSecond", result.getRequests() / seconds);
+            row.put("errors", result.getErrors());
+            row.put("p50Millis", result.percentileMillis(50));
+            row.put("p95Millis", result.percentileMillis(95));
+            row.put("p99Millis", p99);
+            row.put("maxMillis", result.maxMillis());
+            row.put("p99SloMillis", slo);
+            row.put("passed", scenarioPassed);
+            summary.put(scenario.getKey(), row);
+        }
+
+        Path reportFile = Path.of(config.reportFile());
+        Files.createDirectories(reportFile.toAbsolutePath().getParent());
+        Files.write(reportFile, jsonMapper.writerWithDefaultPrettyPrinter().writeValueAsBytes(summary));
+        System.out.printf("%nSummary written to %s: %s%n", reportFile, passed ? "all SLOs met" : "SLOs violated");
+
+        return passed;
+    }
+}
@@ -0,0 +1,34 @@
+package com.karam.pubfinder.loadtest;
+
+import java.util.Arrays;
+
+/**
+ * Traffic classes replayed by the load test. Keys are used in {@code loadtest.mix} and
+ * {@code loadtest.slo.p99-ms}.
+ */
+public enum Scenario {
+
+    BROWSE_PUBS("browse-pubs"),
+    PUB_REVIEWS_ANONYMOUS("pub-reviews-anonymous"),
+    PUB_REVIEWS_AUTHENTICATED("pub-reviews-authenticated"),
+    LOGIN_BURST("login-burst"),
+    CREATE_REVIEW("create-review"),
+    LIKE_STORM("like-storm");
+
+    private final String key;
+
+    Scenario(String key) {
+        this.key = key;
+    }
+
+    public String getKey() {
+        return key;
+    }
+
+    public static Scenario fromKey(String key) {
+        return Arrays.stream(values())
+                .filter(scenario -> scenario.key.equals(key))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Unknown load test scenario: " + key));
+    }
+}
@@ -0,0 +1,52 @@
+package com.karam.pubfinder.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latency histogram (microseconds) and outcome counters for one scenario.
+ */
+public class ScenarioStats {
+
+    private final Histogram latencyMicros = new ConcurrentHistogram(TimeUnit.MINUTES.toMicros(1), 3);
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder errors = new LongAdder();
+
+    public void record(int status, long elapsedNanos) {
+        requests.increment();
+        if (status < 200 || status >= 300) {
+            errors.increment();
+        }
+        latencyMicros.recordValue(Math.min(TimeUnit.NANOSECONDS.toMicros(elapsedNanos),
+                latencyMicros.getHighestTrackableValue()));
+    }
+
+    public void recordFailure() {
+        requests.increment();
+        errors.increment();
+    }
+
+    public long getRequests() {
+        return requests.sum();
+    }
+
+    public long getErrors() {
+        return errors.sum();
+    }
+
+    public double getErrorRate() {
+        long total = getRequests();
+        return total == 0 ? 0 : (double) getErrors() / total;
+    }
+
+    public double percentileMillis(double percentile) {
+        return latencyMicros.getValueAtPercentile(percentile) / 1000.0;
+    }
+
+    public double maxMillis() {
+        return latencyMicros.getMaxValue() / 1000.0;
+    }
+}
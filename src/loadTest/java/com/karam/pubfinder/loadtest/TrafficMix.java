@@ -0,0 +1,39 @@
+package com.karam.pubfinder.loadtest;
+
+import java.util.Map;
+import java.util.random.RandomGenerator;
+
+/**
+ * Picks scenarios in proportion to their configured weights.
+ */
+public class TrafficMix {
+
+    private final Scenario[] scenarios;
+    private final int[] cumulativeWeights;
+    private final int totalWeight;
+
+    public TrafficMix(Map<Scenario, Integer> weights) {
+        scenarios = weights.keySet().toArray(new Scenario[0]);
+        cumulativeWeights = new int[scenarios.length];
+
+        int total = 0;
+        for (int i = 0; i < scenarios.length; i++) {
+            total += weights.get(scenarios[i]);
+            cumulativeWeights[i] = total;
+        }
+        if (total <= 0) {
+            throw new IllegalArgumentException("Traffic mix needs at least one positive weight");
+        }
+        totalWeight = total;
+    }
+
+    public Scenario next(RandomGenerator random) {
+        int roll = random.nextInt(totalWeight);
+        for (int i = 0; i < cumulativeWeights.length; i++) {
+            if (roll < cumulativeWeights[i]) {
+                return scenarios[i];
+            }
+        }
+        return scenarios[scenarios.length - 1];
+    }
+}
@@ -0,0 +1,42 @@
+package com.karam.pubfinder.loadtest.dataset;
+
+/**
+ * Dataset generator settings, read from {@code -Ddataset.*} system properties. Defaults are
+ * roughly 100x today's production data.
+ */
+public record DatasetConfig(
+        String jdbcUrl,
+        String dbUsername,
+        String dbPassword,
+        int users,
+        int pubs,
+        long reviews,
+        long likes,
+        double pubZipfExponent,
+        int powerLikers,
+        double powerLikerShare,
+        int threads,
+        long seed) {
+
+    private static final String PREFIX = "dataset.";
+
+    public static DatasetConfig fromSystemProperties() {
+        return new DatasetConfig(
+                property("jdbc-url", "jdbc:postgresql://localhost:5432/pubs_db"),
+                property("db-username", "pubs_user"),
+                property("db-password", "pubs_password"),
+                Integer.parseInt(property("users", "1000000")),
+                Integer.parseInt(property("pubs", "20000")),
+                Long.parseLong(property("reviews", "5000000")),
+                Long.parseLong(property("likes", "20000000")),
+                Double.parseDouble(property("pub-zipf-exponent", "1.1")),
+                Integer.parseInt(property("power-likers", "200")),
+                Double.parseDouble(property("power-liker-share", "0.2")),
+                Integer.parseInt(property("threads", Integer.toString(Runtime.getRuntime().availableProcessors()))),
+                Long.parseLong(property("seed", "42")));
+    }
+
+    private static String property(String name, String defaultValue) {
+        return System.getProperty(PREFIX + name, defaultValue);
+    }
+}
@@ -0,0 +1,328 @@
+package com.karam.pubfinder.loadtest.dataset;
+
+import com.karam.pubfinder.loadtest.LoadTestFixtures;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.PGCopyOutputStream;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Streams a large synthetic dataset into Postgres with {@code COPY FROM STDIN}, one
+ * connection per partition, then recomputes the denormalised aggregates.
+ * <p>
+ * Pub popularity is Zipf-distributed (low pub ids are the hot ones), likes per review are
+ * Pareto-distributed, and a small set of power-likers account for a fixed share of all likes.
+ * Rows are appended after the current max ids, so it can run against a non-empty database.
+ * The schema must already exist (start the application once first). Every generated account
+ * uses the load test password.
+ */
+public class DatasetGenerator {
+
+    private static final DateTimeFormatter TIMESTAMP = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+    private static final int COPY_BUFFER_BYTES = 1 << 16;
+    private static final int MIN_ROWS_PER_PARTITION = 10_000;
+    private static final long HISTORY_SECONDS = 2L * 365 * 24 * 3600;
+    private static final double LIKE_TAIL_ALPHA = 1.5;
+
+    private final DatasetConfig config;
+    private final LocalDateTime now = LocalDateTime.now();
+
+    private long userBase;
+    private long pubBase;
+    private long reviewBase;
+
+    private double regularLikesMean;
+    private double powerLikesMean;
+
+    public DatasetGenerator(DatasetConfig config) {
+        if (config.users() <= config.powerLikers()) {
+            throw new IllegalArgumentException("Need more users than power-likers");
+        }
+        this.config = config;
+    }
+
+    public static void main(String[] args) throws Exception {
+        new DatasetGenerator(DatasetConfig.fromSystemProperties()).generate();
+    }
+
+    public void generate() throws Exception {
+        try (Connection connection = connect()) {
+            userBase = maxId(connection, "users");
+            pubBase = maxId(connection, "pubs");
+            reviewBase = maxId(connection, "reviews");
+        }
+
+        regularLikesMean = (double) config.likes() * (1 - config.powerLikerShare()) / config.reviews();
+        powerLikesMean = Math.min(config.powerLikers(),
+                (double) config.likes() * config.powerLikerShare() / config.reviews());
+
+        String passwordHash = new BCryptPasswordEncoder().encode(LoadTestFixtures.PASSWORD);
+        ZipfSampler pubSampler = new ZipfSampler(config.pubs(), config.pubZipfExponent());
+
+        copyInParallel("users", config.users(),
+                "COPY users (id, username, password, name, surname, email, created_at, updated_at) FROM STDIN WITH (FORMAT csv)",
+                (out, from, to, random) -> {
+                    for (long i = from; i < to; i++) {
+                        long id = userBase + 1 + i;
+                        String createdAt = randomTimestamp(random);
+                        out.append(Long.toString(id)).append(",genuser").append(Long.toString(id))
+                                .append(',').append(passwordHash)
+                                .append(",Generated,User ").append(Long.toString(id))
+                                .append(",genuser").append(Long.toString(id)).append("@dataset.local,")
+                                .append(createdAt).append(',').append(createdAt).append('\n');
+                    }
+                });
+
+        copyInParallel("pubs", config.pubs(),
+                "COPY pubs (id, title, short_description, long_description, menu_url, image_url, rating, created_at, updated_at) "
+                        + "FROM STDIN WITH (FORMAT csv)",
+                (out, from, to, random) -> {
+                    for (long i = from; i < to; i++) {
+                        long id = pubBase + 1 + i;
+                        String createdAt = randomTimestamp(random);
+                        out.append(Long.toString(id)).append(",Generated Pub ").append(Long.toString(id))
+                                .append(",Popularity rank ").append(Long.toString(i + 1))
+                                .append(",\"A generated pub for benchmarks and query plans.\"")
+                                .append(",https://pubfinder.example/menu/").append(Long.toString(id))
+                                .append(",https://pubfinder.example/img/").append(Long.toString(id))
+                                .append(",0,").append(createdAt).append(',').append(createdAt).append('\n');
+                    }
+                });
+
+        copyInParallel("reviews", config.reviews(),
+                "COPY reviews (id, user_id, pub_id, content, rate, like_count, created_at, updated_at) "
+                        + "FROM STDIN WITH (FORMAT csv)",
+                (out, from, to, random) -> {
+                    for (long i = from; i < to; i++) {
+                        long id = reviewBase + 1 + i;
+                        int pubRank = pubSampler.sample(random);
+                        long userId = userBase + 1 + random.nextLong(config.users());
+                        String createdAt = randomTimestamp(random);
+                        LikePlan likes = likePlan(id);
+
+                        out.append(Long.toString(id)).append(',').append(Long.toString(userId))
+                                .append(',').append(Long.toString(pubBase + 1 + pubRank))
+                                .append(",\"Generated review ").append(Long.toString(id))
+                                .append(": decent pints and a friendly crowd\",")
+                                .append(Integer.toString(rate(pubRank, random))).append(',')
+                                .append(Integer.toString(likes.total())).append(',')
+                                .append(createdAt).append(',').append(createdAt).append('\n');
+                    }
+                });
+
+        copyInParallel("review_likes", config.reviews(),
+                "COPY review_likes (review_id, user_id, created_at) FROM STDIN WITH (FORMAT csv)",
+                (out, from, to, random) -> {
+                    String createdAt = now.format(TIMESTAMP);
+                    int regularUsers = config.users() - config.powerLikers();
+                    for (long i = from; i < to; i++) {
+                        long reviewId = reviewBase + 1 + i;
+                        LikePlan likes = likePlan(reviewId);
+                        String prefix = reviewId + ",";
+
+                        // Distinct users per review: walk an arithmetic progression with a stride coprime to n
+                        for (int j = 0; j < likes.power(); j++) {
+                            long userId = userBase + 1 + (likes.powerStart() + (long) j * likes.powerStride()) % config.powerLikers();
+                            out.append(prefix).append(Long.toString(userId)).append(',').append(createdAt).append('\n');
+                        }
+                        for (int j = 0; j < likes.regular(); j++) {
+                            long userId = userBase + 1 + config.powerLikers()
+                                    + (likes.regularStart() + (long) j * likes.regularStride()) % regularUsers;
+                            out.append(prefix).append(Long.toString(userId)).append(',').append(createdAt).append('\n');
+                        }
+                    }
+                });
+
+        try (Connection connection = connect(); Statement statement = connection.createStatement()) {
+            timed("sequence reset", () -> {
+                for (String table : List.of("users", "pubs", "reviews", "review_likes")) {
+                    statement.execute("SELECT setval(pg_get_serial_sequence('" + table + "', 'id'), "
+                            + "(SELECT COALESCE(MAX(id), 1) FROM " + table + "))");
+                }
+            });
+            timed("aggregate recompute", () -> recomputeAggregates(statement));
+            timed("analyze", () -> statement.execute("ANALYZE users, pubs, reviews, review_likes, pub_rating_stats"));
+        }
+    }
+
+    private void recomputeAggregates(Statement statement) throws SQLException {
+        statement.executeUpdate("""
+                UPDATE reviews r SET like_count = COALESCE(c.likes, 0)
+                FROM reviews r2
+                LEFT JOIN (SELECT review_id, COUNT(*) AS likes FROM review_likes GROUP BY review_id) c
+                       ON c.review_id = r2.id
+                WHERE r.id = r2.id AND r.like_count IS DISTINCT FROM COALESCE(c.likes, 0)
+                """);
+        statement.executeUpdate("""
+                UPDATE pubs p SET rating = COALESCE(s.rating, 0)
+                FROM pubs p2
+                LEFT JOIN (SELECT pub_id, ROUND(AVG(rate)::numeric, 1) AS rating FROM reviews WHERE deleted_at IS NULL GROUP BY pub_id) s
+                       ON s.pub_id = p2.id
+                WHERE p.id = p2.id AND p.rating IS DISTINCT FROM COALESCE(s.rating, 0)
+                """);
+        // Star histograms are maintained by delta in the app; rebuild them outright here
+        statement.executeUpdate("""
+                INSERT INTO pub_rating_stats (pub_id, stars_0, stars_1, stars_2, stars_3, stars_4, stars_5)
+                SELECT pub_id,
+                       COUNT(*) FILTER (WHERE rate = 0),
+                       COUNT(*) FILTER (WHERE rate = 1),
+                       COUNT(*) FILTER (WHERE rate = 2),
+                       COUNT(*) FILTER (WHERE rate = 3),
+                       COUNT(*) FILTER (WHERE rate = 4),
+                       COUNT(*) FILTER (WHERE rate = 5)
+                FROM reviews
+                WHERE deleted_at IS NULL
+                GROUP BY pub_id
+                ON CONFLICT (pub_id) DO UPDATE SET
+                    stars_0 = EXCLUDED.stars_0,
+                    stars_1 = EXCLUDED.stars_1,
+                    stars_2 = EXCLUDED.stars_2,
+                    stars_3 = EXCLUDED.stars_3,
+                    stars_4 = EXCLUDED.stars_4,
+                    stars_5 = EXCLUDED.stars_5
+                """);
+    }
+
+    /**
+     * Like counts and user walks for one review, derived from the review id alone so the
+     * review and like passes agree without sharing state.
+     */
+    private record LikePlan(int power, long powerStart, long powerStride,
+                            int regular, long regularStart, long regularStride) {
+        int total() {
+            return power + regular;
+        }
+    }
+
+    private LikePlan likePlan(long reviewId) {
+        SplittableRandom random = new SplittableRandom(config.seed() * 1_000_003L + reviewId);
+        int regularUsers = config.users() - config.powerLikers();
+
+        // Stochastic rounding keeps the mean exact
+        int power = (int) Math.min(config.powerLikers(), Math.floor(powerLikesMean + random.nextDouble()));
+
+        // Pareto tail: most reviews get a few likes, a handful get thousands
+        double scale = regularLikesMean * (LIKE_TAIL_ALPHA - 1) / LIKE_TAIL_ALPHA;
+        double u = 1.0 - random.nextDouble();
+        int regular = (int) Math.min(regularUsers, Math.floor(scale / Math.pow(u, 1 / LIKE_TAIL_ALPHA)));
+
+        return new LikePlan(power, random.nextLong(config.powerLikers()), coprimeStride(config.powerLikers(), random),
+                regular, random.nextLong(regularUsers), coprimeStride(regularUsers, random));
+    }
+
+    private static long coprimeStride(long n, SplittableRandom random) {
+        if (n <= 2) {
+            return 1;
+        }
+        for (int attempt = 0; attempt < 16; attempt++) {
+            long stride = 1 + random.nextLong(n - 1);
+            if (gcd(stride, n) == 1) {
+                return stride;
+            }
+        }
+        return 1;
+    }
+
+    private static long gcd(long a, long b) {
+        while (b != 0) {
+            long t = a % b;
+            a = b;
+            b = t;
+        }
+        return a;
+    }
+
+    /**
+     * Each pub has a stable "true quality"; reviews scatter around it.
+     */
+    private int rate(int pubRank, SplittableRandom random) {
+        double quality = 1.5 + (new SplittableRandom(config.seed() + pubRank).nextDouble() * 3.3);
+        long rate = Math.round(quality + random.nextGaussian() * 0.9);
+        return (int) Math.max(0, Math.min(5, rate));
+    }
+
+    private String randomTimestamp(SplittableRandom random) {
+        return now.minusSeconds(random.nextLong(HISTORY_SECONDS)).format(TIMESTAMP);
+    }
+
+    @FunctionalInterface
+    private interface PartitionWriter {
+        void write(Writer out, long from, long to, SplittableRandom random) throws IOException;
+    }
+
+    private void copyInParallel(String table, long rows, String copySql, PartitionWriter writer) throws Exception {
+        int partitions = (int) Math.max(1, Math.min(config.threads(), rows / MIN_ROWS_PER_PARTITION));
+        long chunk = (rows + partitions - 1) / partitions;
+
+        timed(table + " (" + rows + " driving rows, " + partitions + " streams)", () -> {
+            ExecutorService pool = Executors.newFixedThreadPool(partitions);
+            try {
+                List<Future<Void>> futures = new ArrayList<>();
+                for (int p = 0; p < partitions; p++) {
+                    long from = p * chunk;
+                    long to = Math.min(rows, from + chunk);
+                    SplittableRandom random = new SplittableRandom(config.seed() ^ (table.hashCode() * 31L + p));
+                    futures.add(pool.submit(() -> {
+                        try (Connection connection = connect();
+                             Writer out = new BufferedWriter(new OutputStreamWriter(
+                                     new PGCopyOutputStream(connection.unwrap(PGConnection.class), copySql, COPY_BUFFER_BYTES),
+                                     StandardCharsets.UTF_8), COPY_BUFFER_BYTES)) {
+                            writer.write(out, from, to, random);
+                        }
+                        return null;
+                    }));
+                }
+                for (Future<Void> future : futures) {
+                    future.get();
+                }
+            } finally {
+                pool.shutdown();
+            }
+        });
+    }
+
+    private Connection connect() throws SQLException {
+        Connection connection = DriverManager.getConnection(config.jdbcUrl(), config.dbUsername(), config.dbPassword());
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("SET synchronous_commit = off");
+        }
+        return connection;
+    }
+
+    private static long maxId(Connection connection, String table) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery("SELECT COALESCE(MAX(id), 0) FROM " + table)) {
+            rs.next();
+            return rs.getLong(1);
+        }
+    }
+
+    @FunctionalInterface
+    private interface Step {
+        void run() throws Exception;
+    }
+
+    private static void timed(String label, Step step) throws Exception {
+        long start = System.nanoTime();
+        step.run();
+        System.out.printf("%-60s %8.1f s%n", label, (System.nanoTime() - start) / 1e9);
+    }
+}
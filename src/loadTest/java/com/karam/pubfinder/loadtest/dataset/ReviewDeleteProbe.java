@@ -0,0 +1,106 @@
+package com.karam.pubfinder.loadtest.dataset;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Times deleting the most-liked reviews of a generated dataset two ways, each in a transaction
+ * that is rolled back so the data survives:
+ * <ul>
+ *     <li>row by row, the way the old {@code Review.likes} cascade did it: load every like, then
+ *     delete each one by id, then the review;</li>
+ *     <li>set-based: one DELETE for the likes and one for the review, as {@code ReviewPurger}
+ *     does in batches.</li>
+ * </ul>
+ * Connection settings come from {@code -Ddataset.*} like the generator; {@code -Ddataset.delete-samples}
+ * sets how many reviews are measured.
+ */
+public class ReviewDeleteProbe {
+
+    public static void main(String[] args) throws Exception {
+        DatasetConfig config = DatasetConfig.fromSystemProperties();
+        int samples = Integer.getInteger("dataset.delete-samples", 5);
+
+        try (Connection connection = DriverManager.getConnection(config.jdbcUrl(), config.dbUsername(), config.dbPassword())) {
+            connection.setAutoCommit(false);
+
+            System.out.printf("%-10s %10s %14s %14s %8s%n", "review", "likes", "row-by-row ms", "set-based ms", "speedup");
+            for (long[] review : mostLikedReviews(connection, samples)) {
+                long reviewId = review[0];
+
+                // Warm-up pass, so both measured runs find the rows in shared buffers
+                deleteSetBased(connection, reviewId);
+                connection.rollback();
+
+                long start = System.nanoTime();
+                deleteRowByRow(connection, reviewId);
+                double rowByRowMillis = (System.nanoTime() - start) / 1e6;
+                connection.rollback();
+
+                start = System.nanoTime();
+                deleteSetBased(connection, reviewId);
+                double setBasedMillis = (System.nanoTime() - start) / 1e6;
+                connection.rollback();
+
+                System.out.printf("%-10d %10d %14.1f %14.1f %7.1fx%n",
+                        reviewId, review[1], rowByRowMillis, setBasedMillis, rowByRowMillis / setBasedMillis);
+            }
+        }
+    }
+
+    private static List<long[]> mostLikedReviews(Connection connection, int limit) throws SQLException {
+        List<long[]> reviews = new ArrayList<>();
+        try (PreparedStatement select = connection.prepareStatement(
+                "SELECT id, like_count FROM reviews ORDER BY like_count DESC LIMIT ?")) {
+            select.setInt(1, limit);
+            try (ResultSet rows = select.executeQuery()) {
+                while (rows.next()) {
+                    reviews.add(new long[]{rows.getLong(1), rows.getLong(2)});
+                }
+            }
+        }
+        connection.commit();
+        return reviews;
+    }
+
+    private static void deleteRowByRow(Connection connection, long reviewId) throws SQLException {
+        List<Long> likeIds = new ArrayList<>();
+        // Hibernate hydrated every column of every like before removing them
+        try (PreparedStatement select = connection.prepareStatement(
+                "SELECT id, review_id, user_id, created_at FROM review_likes WHERE review_id = ?")) {
+            select.setLong(1, reviewId);
+            try (ResultSet rows = select.executeQuery()) {
+                while (rows.next()) {
+                    likeIds.add(rows.getLong(1));
+                }
+            }
+        }
+        try (PreparedStatement delete = connection.prepareStatement("DELETE FROM review_likes WHERE id = ?")) {
+            for (Long likeId : likeIds) {
+                delete.setLong(1, likeId);
+                delete.executeUpdate();
+            }
+        }
+        deleteReview(connection, reviewId);
+    }
+
+    private static void deleteSetBased(Connection connection, long reviewId) throws SQLException {
+        try (PreparedStatement delete = connection.prepareStatement("DELETE FROM review_likes WHERE review_id = ?")) {
+            delete.setLong(1, reviewId);
+            delete.executeUpdate();
+        }
+        deleteReview(connection, reviewId);
+    }
+
+    private static void deleteReview(Connection connection, long reviewId) throws SQLException {
+        try (PreparedStatement delete = connection.prepareStatement("DELETE FROM reviews WHERE id = ?")) {
+            delete.setLong(1, reviewId);
+            delete.executeUpdate();
+        }
+    }
+}
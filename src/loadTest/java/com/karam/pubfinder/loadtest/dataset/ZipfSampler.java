@@ -0,0 +1,31 @@
+package com.karam.pubfinder.loadtest.dataset;
+
+import java.util.Arrays;
+import java.util.random.RandomGenerator;
+
+/**
+ * Samples ranks 0..n-1 with probability proportional to 1 / (rank + 1)^exponent, using a
+ * precomputed CDF and binary search. Rank 0 is the most popular.
+ */
+public class ZipfSampler {
+
+    private final double[] cumulative;
+
+    public ZipfSampler(int n, double exponent) {
+        cumulative = new double[n];
+        double total = 0;
+        for (int rank = 0; rank < n; rank++) {
+            total += 1.0 / Math.pow(rank + 1, exponent);
+            cumulative[rank] = total;
+        }
+        for (int rank = 0; rank < n; rank++) {
+            cumulative[rank] /= total;
+        }
+    }
+
+    public int sample(RandomGenerator random) {
+        int index = Arrays.binarySearch(cumulative, random.nextDouble());
+        int rank = index >= 0 ? index : -index - 1;
+        return Math.min(rank, cumulative.length - 1);
+    }
+}
@@ -0,0 +1,53 @@
+package com.karam.pubfinder.config;
+
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Puts a circuit breaker in front of connection checkout. Failed or slow checkouts count
+ * against the breaker; while it is open, callers get an immediate
+ * {@link SQLTransientConnectionException} instead of waiting out the pool's connection timeout.
+ */
+public class CircuitBreakingDataSource extends DelegatingDataSource {
+
+    private final CircuitBreaker circuitBreaker;
+
+    public CircuitBreakingDataSource(DataSource targetDataSource, CircuitBreaker circuitBreaker) {
+        super(targetDataSource);
+        this.circuitBreaker = circuitBreaker;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return guarded(null, null);
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return guarded(username, password);
+    }
+
+    private Connection guarded(String username, String password) throws SQLException {
+        if (!circuitBreaker.tryAcquirePermission()) {
+            throw new SQLTransientConnectionException("Database circuit breaker is " + circuitBreaker.getState());
+        }
+
+        long start = System.nanoTime();
+        try {
+            Connection connection = (username == null)
+                    ? super.getConnection()
+                    : super.getConnection(username, password);
+            circuitBreaker.onSuccess(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            return connection;
+        } catch (SQLException | RuntimeException e) {
+            circuitBreaker.onError(System.nanoTime() - start, TimeUnit.NANOSECONDS, e);
+            throw e;
+        }
+    }
+}
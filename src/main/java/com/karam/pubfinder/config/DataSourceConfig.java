@@ -0,0 +1,132 @@
+package com.karam.pubfinder.config;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.config.DestructionAwareBeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@Configuration
+public class DataSourceConfig {
+
+    /**
+     * Picked up by the auto-configured transaction manager as an execution listener.
+     */
+    @Bean
+    public static ReadYourWritesTracker readYourWritesTracker(Environment environment) {
+        return new ReadYourWritesTracker(environment.getProperty("db.replicas.sticky-window-ms", Long.class, 5000L));
+    }
+
+    /**
+     * Trips when checking out primary connections keeps failing or crawling; see {@link CircuitBreakingDataSource}.
+     */
+    @Bean
+    public static CircuitBreaker databaseCircuitBreaker(Environment environment) {
+        return CircuitBreaker.of("database", CircuitBreakerConfig.custom()
+                .failureRateThreshold(environment.getRequiredProperty("db.circuit-breaker.failure-rate-threshold", Float.class))
+                .slowCallDurationThreshold(Duration.ofMillis(
+                        environment.getRequiredProperty("db.circuit-breaker.slow-call-duration-ms", Long.class)))
+                .slowCallRateThreshold(environment.getRequiredProperty("db.circuit-breaker.slow-call-rate-threshold", Float.class))
+                .slidingWindowSize(environment.getRequiredProperty("db.circuit-breaker.sliding-window-size", Integer.class))
+                .minimumNumberOfCalls(environment.getRequiredProperty("db.circuit-breaker.minimum-calls", Integer.class))
+                .waitDurationInOpenState(Duration.ofMillis(
+                        environment.getRequiredProperty("db.circuit-breaker.open-state-duration-ms", Long.class)))
+                .permittedNumberOfCallsInHalfOpenState(
+                        environment.getRequiredProperty("db.circuit-breaker.half-open-calls", Integer.class))
+                .automaticTransitionFromOpenToHalfOpenEnabled(true)
+                .build());
+    }
+
+    /**
+     * Layers our wrappers over the auto-configured Hikari pool. Wrappers extend
+     * DelegatingDataSource, so pool metrics and health checks can still unwrap to Hikari.
+     */
+    @Bean
+    public static DestructionAwareBeanPostProcessor dataSourceWrappingPostProcessor(Environment environment,
+                                                                                    ReadYourWritesTracker readYourWritesTracker,
+                                                                                    CircuitBreaker databaseCircuitBreaker) {
+        return new DestructionAwareBeanPostProcessor() {
+
+            private ReplicaRoutingDataSource replicaRouter;
+
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!"dataSource".equals(beanName) || !(bean instanceof DataSource dataSource)) {
+                    return bean;
+                }
+
+                DataSource primary = limitConcurrency(new CircuitBreakingDataSource(dataSource, databaseCircuitBreaker), environment);
+
+                if (environment.getProperty("db.replicas.enabled", Boolean.class, false)) {
+                    replicaRouter = createReplicaRouter(dataSource, primary, environment, readYourWritesTracker);
+
+                    // Read-only transactions take their connection from the router, everything else from the primary
+                    LazyConnectionDataSourceProxy routing = new LazyConnectionDataSourceProxy(primary);
+                    routing.setReadOnlyDataSource(replicaRouter);
+                    primary = routing;
+                }
+
+                // Outermost, so statements are counted on the calling (request) thread
+                return ProxyDataSourceBuilder.create(primary)
+                        .name("pubfinder")
+                        .listener(new SqlStatementCountingListener())
+                        .build();
+            }
+
+            @Override
+            public void postProcessBeforeDestruction(Object bean, String beanName) {
+                if ("dataSource".equals(beanName) && replicaRouter != null) {
+                    replicaRouter.close();
+                }
+            }
+        };
+    }
+
+    private static DataSource limitConcurrency(DataSource dataSource, Environment environment) {
+        if (!environment.getProperty("spring.threads.virtual.enabled", Boolean.class, false)) {
+            return dataSource;
+        }
+        return new ConcurrencyLimitingDataSource(dataSource,
+                environment.getRequiredProperty("db.concurrency.max-permits", Integer.class),
+                environment.getRequiredProperty("db.concurrency.acquire-timeout-ms", Long.class));
+    }
+
+    private static ReplicaRoutingDataSource createReplicaRouter(DataSource pool, DataSource primary,
+                                                                Environment environment,
+                                                                ReadYourWritesTracker readYourWritesTracker) {
+        if (!(pool instanceof HikariDataSource hikari)) {
+            throw new IllegalStateException("Replica routing requires the primary to be a Hikari pool");
+        }
+        String[] urls = environment.getProperty("db.replicas.urls", String[].class, new String[0]);
+        if (urls.length == 0) {
+            throw new IllegalStateException("db.replicas.enabled is set but db.replicas.urls is empty");
+        }
+
+        List<DataSource> replicas = new ArrayList<>();
+        for (int i = 0; i < urls.length; i++) {
+            // Same credentials and pool settings as the primary
+            HikariConfig config = new HikariConfig();
+            hikari.copyStateTo(config);
+            config.setJdbcUrl(urls[i].trim());
+            config.setPoolName("replica-" + i);
+            config.setReadOnly(true);
+            // A replica that is down at startup is skipped until it comes back
+            config.setInitializationFailTimeout(-1);
+            replicas.add(limitConcurrency(new HikariDataSource(config), environment));
+        }
+
+        return new ReplicaRoutingDataSource(primary, replicas,
+                ReplicaRoutingDataSource.Strategy.fromProperty(environment.getProperty("db.replicas.strategy", "round-robin")),
+                readYourWritesTracker::isCurrentCallerSticky);
+    }
+}
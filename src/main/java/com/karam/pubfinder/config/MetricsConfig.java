@@ -0,0 +1,59 @@
+package com.karam.pubfinder.config;
+
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+
+@Configuration
+public class MetricsConfig {
+
+    /**
+     * Exposes the virtual-thread DB semaphore next to the Hikari pool metrics, so waits on
+     * either limit are visible. No-op when the semaphore is not in use.
+     */
+    @Bean
+    public MeterBinder dbConcurrencyMetrics(DataSource dataSource) {
+        return registry -> {
+            ConcurrencyLimitingDataSource limiter = unwrapLimiter(dataSource);
+            if (limiter == null) {
+                return;
+            }
+            Gauge.builder("db.concurrency.permits.available", limiter, ConcurrencyLimitingDataSource::getAvailablePermits)
+                    .description("Free permits of the database concurrency limit")
+                    .register(registry);
+            Gauge.builder("db.concurrency.permits.waiting", limiter, ConcurrencyLimitingDataSource::getQueueLength)
+                    .description("Callers waiting for a database permit")
+                    .register(registry);
+        };
+    }
+
+    /**
+     * 0 = closed, 1 = open, 2 = half-open; anything but 0 means reads are being served from snapshots.
+     */
+    @Bean
+    public MeterBinder databaseCircuitBreakerMetrics(CircuitBreaker databaseCircuitBreaker) {
+        return registry -> Gauge.builder("db.circuit-breaker.state", databaseCircuitBreaker,
+                        breaker -> switch (breaker.getState()) {
+                            case CLOSED -> 0;
+                            case HALF_OPEN -> 2;
+                            default -> 1;
+                        })
+                .description("State of the database circuit breaker")
+                .register(registry);
+    }
+
+    private static ConcurrencyLimitingDataSource unwrapLimiter(DataSource dataSource) {
+        try {
+            return dataSource.isWrapperFor(ConcurrencyLimitingDataSource.class)
+                    ? dataSource.unwrap(ConcurrencyLimitingDataSource.class)
+                    : null;
+        } catch (SQLException e) {
+            return null;
+        }
+    }
+}
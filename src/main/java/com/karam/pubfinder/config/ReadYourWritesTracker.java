@@ -0,0 +1,73 @@
+package com.karam.pubfinder.config;
+
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.TransactionExecution;
+import org.springframework.transaction.TransactionExecutionListener;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+
+/**
+ * Remembers which users committed a write recently, so their reads can stay on the primary
+ * until the replicas have caught up and they never see their own change disappear.
+ * <p>
+ * Registered with the transaction manager as an execution listener; the user is taken from
+ * the security context of the committing thread.
+ */
+public class ReadYourWritesTracker implements TransactionExecutionListener {
+
+    private static final int PRUNE_THRESHOLD = 10_000;
+
+    private final long stickyWindowNanos;
+    private final LongSupplier nanoClock;
+
+    // user id -> System.nanoTime() until which reads go to the primary
+    private final Map<Object, Long> stickyUntil = new ConcurrentHashMap<>();
+
+    public ReadYourWritesTracker(long stickyWindowMillis) {
+        this(stickyWindowMillis, System::nanoTime);
+    }
+
+    public ReadYourWritesTracker(long stickyWindowMillis, LongSupplier nanoClock) {
+        this.stickyWindowNanos = stickyWindowMillis * 1_000_000L;
+        this.nanoClock = nanoClock;
+    }
+
+    @Override
+    public void afterCommit(TransactionExecution transaction, Throwable commitFailure) {
+        if (commitFailure != null || transaction.isReadOnly()) {
+            return;
+        }
+        Object caller = currentCaller();
+        if (caller != null) {
+            recordWrite(caller);
+        }
+    }
+
+    public void recordWrite(Object caller) {
+        long now = nanoClock.getAsLong();
+        stickyUntil.put(caller, now + stickyWindowNanos);
+
+        if (stickyUntil.size() > PRUNE_THRESHOLD) {
+            stickyUntil.values().removeIf(until -> until - now <= 0);
+        }
+    }
+
+    public boolean isSticky(Object caller) {
+        Long until = stickyUntil.get(caller);
+        return until != null && until - nanoClock.getAsLong() > 0;
+    }
+
+    public boolean isCurrentCallerSticky() {
+        Object caller = currentCaller();
+        return caller != null && isSticky(caller);
+    }
+
+    private static Object currentCaller() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        // JwtAuthenticationFilter sets the account id as principal; anonymous callers are never sticky
+        return (authentication != null && authentication.getPrincipal() instanceof Long userId) ? userId : null;
+    }
+}
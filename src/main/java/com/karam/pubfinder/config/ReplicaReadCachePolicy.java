@@ -0,0 +1,45 @@
+package com.karam.pubfinder.config;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.orm.jpa.EntityManagerFactoryUtils;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.TransactionExecution;
+import org.springframework.transaction.TransactionExecutionListener;
+
+/**
+ * Lets transactions that may read from a replica use the second-level and query caches but not
+ * fill them. A row that is stale on a lagging replica would otherwise stay stale on this node for
+ * the whole cache TTL, long after the replica caught up.
+ * <p>
+ * Registered with the transaction manager as an execution listener, like
+ * {@link ReadYourWritesTracker}, whose stickiness decides which reads stay on the primary.
+ */
+@Component
+@ConditionalOnProperty(name = "db.replicas.enabled", havingValue = "true")
+public class ReplicaReadCachePolicy implements TransactionExecutionListener {
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final ReadYourWritesTracker readYourWritesTracker;
+
+    public ReplicaReadCachePolicy(EntityManagerFactory entityManagerFactory,
+                                  ReadYourWritesTracker readYourWritesTracker) {
+        this.entityManagerFactory = entityManagerFactory;
+        this.readYourWritesTracker = readYourWritesTracker;
+    }
+
+    @Override
+    public void afterBegin(TransactionExecution transaction, Throwable beginFailure) {
+        // Same test the routing data source applies when the connection is fetched
+        if (beginFailure != null || !transaction.isReadOnly() || readYourWritesTracker.isCurrentCallerSticky()) {
+            return;
+        }
+        EntityManager entityManager = EntityManagerFactoryUtils.getTransactionalEntityManager(entityManagerFactory);
+        if (entityManager != null) {
+            entityManager.unwrap(Session.class).setCacheMode(CacheMode.GET);
+        }
+    }
+}
@@ -0,0 +1,161 @@
+package com.karam.pubfinder.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Hands out connections for read-only transactions. Plugged in as the read-only target of a
+ * {@code LazyConnectionDataSourceProxy}, so read-write transactions never get here.
+ * <p>
+ * Picks a replica round-robin or by fewest connections in use from this node, skips replicas
+ * that fail to hand out a connection, and falls back to the primary when none can. Callers
+ * flagged by the stickiness check (a recent write of their own) read from the primary.
+ */
+@Slf4j
+public class ReplicaRoutingDataSource extends AbstractDataSource implements Closeable {
+
+    public enum Strategy {
+        ROUND_ROBIN,
+        LEAST_BUSY;
+
+        public static Strategy fromProperty(String value) {
+            return valueOf(value.trim().toUpperCase(Locale.ROOT).replace('-', '_'));
+        }
+    }
+
+    private final DataSource primary;
+    private final List<Replica> replicas;
+    private final Strategy strategy;
+    private final BooleanSupplier readFromPrimary;
+    private final AtomicInteger nextReplica = new AtomicInteger();
+
+    public ReplicaRoutingDataSource(DataSource primary, List<DataSource> replicas, Strategy strategy,
+                                    BooleanSupplier readFromPrimary) {
+        if (replicas.isEmpty()) {
+            throw new IllegalArgumentException("At least one replica is required");
+        }
+        this.primary = primary;
+        this.replicas = replicas.stream().map(Replica::new).toList();
+        this.strategy = strategy;
+        this.readFromPrimary = readFromPrimary;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return route(DataSource::getConnection);
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return route(dataSource -> dataSource.getConnection(username, password));
+    }
+
+    private Connection route(ConnectionSource source) throws SQLException {
+        if (readFromPrimary.getAsBoolean()) {
+            return source.from(primary);
+        }
+
+        int count = replicas.size();
+        int first = firstChoice();
+        SQLException lastFailure = null;
+
+        for (int i = 0; i < count; i++) {
+            Replica replica = replicas.get((first + i) % count);
+            try {
+                return replica.borrow(source);
+            } catch (SQLException e) {
+                lastFailure = e;
+                log.warn("Replica {} unavailable: {}", (first + i) % count, e.getMessage());
+            }
+        }
+
+        log.warn("No replica available, reading from the primary", lastFailure);
+        return source.from(primary);
+    }
+
+    private int firstChoice() {
+        int start = Math.floorMod(nextReplica.getAndIncrement(), replicas.size());
+        if (strategy == Strategy.ROUND_ROBIN) {
+            return start;
+        }
+
+        // Scan from the round-robin position so ties spread evenly
+        int best = start;
+        for (int i = 1; i < replicas.size(); i++) {
+            int candidate = (start + i) % replicas.size();
+            if (replicas.get(candidate).inUse.get() < replicas.get(best).inUse.get()) {
+                best = candidate;
+            }
+        }
+        return best;
+    }
+
+    @Override
+    public void close() {
+        for (Replica replica : replicas) {
+            try {
+                // Pools may sit under wrappers such as ConcurrencyLimitingDataSource
+                if (replica.dataSource.isWrapperFor(AutoCloseable.class)) {
+                    replica.dataSource.unwrap(AutoCloseable.class).close();
+                }
+            } catch (Exception e) {
+                log.warn("Failed to close replica pool", e);
+            }
+        }
+    }
+
+    @FunctionalInterface
+    private interface ConnectionSource {
+        Connection from(DataSource dataSource) throws SQLException;
+    }
+
+    private static final class Replica {
+
+        private final DataSource dataSource;
+        private final AtomicInteger inUse = new AtomicInteger();
+
+        Replica(DataSource dataSource) {
+            this.dataSource = dataSource;
+        }
+
+        Connection borrow(ConnectionSource source) throws SQLException {
+            Connection target = source.from(dataSource);
+            inUse.incrementAndGet();
+            AtomicBoolean returned = new AtomicBoolean();
+
+            return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[]{Connection.class},
+                    (proxy, method, args) -> {
+                        switch (method.getName()) {
+                            case "equals":
+                                return proxy == args[0];
+                            case "hashCode":
+                                return System.identityHashCode(proxy);
+                            case "close":
+                                if (returned.compareAndSet(false, true)) {
+                                    inUse.decrementAndGet();
+                                }
+                                break;
+                            default:
+                                break;
+                        }
+                        try {
+                            return method.invoke(target, args);
+                        } catch (InvocationTargetException e) {
+                            throw e.getTargetException();
+                        }
+                    });
+        }
+    }
+}
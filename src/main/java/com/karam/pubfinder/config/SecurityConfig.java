@@ -1,7 +1,9 @@
 package com.karam.pubfinder.config;
 
+import com.karam.pubfinder.filters.AuthRateLimitFilter;
 import com.karam.pubfinder.filters.JwtAuthenticationFilter;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
@@ -24,6 +26,10 @@ import java.util.Arrays;
 public class SecurityConfig {
 
     private final JwtAuthenticationFilter jwtAuthenticationFilter;
+    private final AuthRateLimitFilter authRateLimitFilter;
+
+    @Value("${management.server.port}")
+    private int managementPort;
 
     @Bean
     public PasswordEncoder passwordEncoder() {
@@ -41,6 +47,9 @@ public class SecurityConfig {
                 )
                 .authorizeHttpRequests(auth -> auth
                         .requestMatchers("/swagger-ui/**", "/v3/api-docs/**").permitAll()
+                        // Actuator only answers on the management port, which is not exposed publicly
+                        .requestMatchers(request -> request.getLocalPort() == managementPort).permitAll()
+                        .requestMatchers("/livez", "/readyz").permitAll()
                         .requestMatchers("/auth/**").permitAll()
                         .requestMatchers("/pubs/**").permitAll()
                         .requestMatchers(HttpMethod.GET, "/reviews/**").permitAll()
@@ -49,6 +58,7 @@ public class SecurityConfig {
                         .requestMatchers(HttpMethod.DELETE, "/reviews/**").authenticated()
                         .anyRequest().authenticated()
                 )
+                .addFilterBefore(authRateLimitFilter, UsernamePasswordAuthenticationFilter.class)
                 .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class);
 
         return http.build();
@@ -0,0 +1,24 @@
+package com.karam.pubfinder.config;
+
+import com.karam.pubfinder.utils.SqlStatementStats;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+
+import java.util.List;
+
+/**
+ * Counts every statement execution (a batch counts once, as one round trip) against the
+ * current thread's {@link SqlStatementStats}.
+ */
+public class SqlStatementCountingListener implements QueryExecutionListener {
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        SqlStatementStats.current().record(execInfo.getElapsedTime());
+    }
+}
@@ -0,0 +1,65 @@
+package com.karam.pubfinder.config;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Logs virtual threads that stay pinned to their carrier (a blocking call inside a
+ * {@code synchronized} block or a native frame) for longer than the threshold, with the
+ * stack that did it, so pinning in our code or a dependency shows up in the logs.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "spring.threads.virtual.enabled", havingValue = "true")
+public class VirtualThreadPinningMonitor {
+
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+    private static final int LOGGED_FRAMES = 12;
+
+    @Value("${virtual-threads.pinning-threshold-ms}")
+    private long thresholdMillis;
+
+    private RecordingStream recordingStream;
+
+    @PostConstruct
+    public void start() {
+        recordingStream = new RecordingStream();
+        recordingStream.enable(PINNED_EVENT)
+                .withThreshold(Duration.ofMillis(thresholdMillis))
+                .withStackTrace();
+        recordingStream.onEvent(PINNED_EVENT, this::logPinnedEvent);
+        recordingStream.startAsync();
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (recordingStream != null) {
+            recordingStream.close();
+        }
+    }
+
+    private void logPinnedEvent(RecordedEvent event) {
+        List<RecordedFrame> frames = event.getStackTrace() != null
+                ? event.getStackTrace().getFrames()
+                : List.of();
+
+        String stack = frames.stream()
+                .limit(LOGGED_FRAMES)
+                .map(frame -> frame.getMethod().getType().getName() + "." + frame.getMethod().getName()
+                        + ":" + frame.getLineNumber())
+                .collect(Collectors.joining("\n\tat "));
+
+        log.warn("Virtual thread pinned for {} ms\n\tat {}", event.getDuration().toMillis(), stack);
+    }
+}
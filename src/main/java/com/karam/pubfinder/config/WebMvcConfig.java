@@ -0,0 +1,29 @@
+package com.karam.pubfinder.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.cbor.JacksonCborHttpMessageConverter;
+import org.springframework.http.converter.smile.JacksonSmileHttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+@Configuration
+public class WebMvcConfig implements WebMvcConfigurer {
+
+    public static final String APPLICATION_SMILE_VALUE = "application/x-jackson-smile";
+
+    /**
+     * Binary Jackson representations for clients that ask for them with {@code Accept}.
+     * Appended after the JSON converter, so {@code *}{@code /*} still gets JSON.
+     */
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        if (converters.stream().noneMatch(JacksonCborHttpMessageConverter.class::isInstance)) {
+            converters.add(new JacksonCborHttpMessageConverter());
+        }
+        if (converters.stream().noneMatch(JacksonSmileHttpMessageConverter.class::isInstance)) {
+            converters.add(new JacksonSmileHttpMessageConverter());
+        }
+    }
+}
@@ -5,9 +5,11 @@ import com.karam.pubfinder.dto.LoginRequest;
 import com.karam.pubfinder.dto.RegisterRequest;
 import com.karam.pubfinder.service.AuthService;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -41,4 +43,16 @@ public class AuthController {
             throw new RuntimeException(e.getMessage());
         }
     }
+
+    @PostMapping("/logout")
+    @Operation(summary = "Logout user",
+            description = "Revokes the bearer token so it can no longer be used, even before it expires.",
+            security = @SecurityRequirement(name = "bearer-jwt"))
+    public ResponseEntity<Void> logout(@RequestHeader(HttpHeaders.AUTHORIZATION) String authHeader) {
+        if (!authHeader.startsWith("Bearer ")) {
+            throw new RuntimeException("Bearer token is required");
+        }
+        authService.logout(authHeader.substring(7));
+        return ResponseEntity.noContent().build();
+    }
 }
\ No newline at end of file
@@ -0,0 +1,27 @@
+package com.karam.pubfinder.controller;
+
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.transaction.CannotCreateTransactionException;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+import java.io.IOException;
+
+/**
+ * Turns "cannot reach the database" into 503 instead of a generic 500, so clients back off and
+ * retry. Reads with a snapshot never get here; writes and uncached reads do.
+ */
+@RestControllerAdvice
+public class DatabaseUnavailableAdvice {
+
+    private static final String RETRY_AFTER_SECONDS = "10";
+
+    @ExceptionHandler({CannotCreateTransactionException.class, DataAccessResourceFailureException.class})
+    public void handleDatabaseUnavailable(HttpServletResponse response) throws IOException {
+        response.setHeader(HttpHeaders.RETRY_AFTER, RETRY_AFTER_SECONDS);
+        response.sendError(HttpStatus.SERVICE_UNAVAILABLE.value(), "Database temporarily unavailable, try again shortly");
+    }
+}
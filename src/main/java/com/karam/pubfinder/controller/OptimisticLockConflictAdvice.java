@@ -0,0 +1,22 @@
+package com.karam.pubfinder.controller;
+
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpStatus;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+import java.io.IOException;
+
+/**
+ * Turns an edit that kept losing to concurrent writers, after OptimisticLockRetrier gave up, into
+ * 409 instead of a generic 500, so the client reloads the review and tries again.
+ */
+@RestControllerAdvice
+public class OptimisticLockConflictAdvice {
+
+    @ExceptionHandler(ObjectOptimisticLockingFailureException.class)
+    public void handleConflict(HttpServletResponse response) throws IOException {
+        response.sendError(HttpStatus.CONFLICT.value(), "The resource was changed concurrently, reload it and try again");
+    }
+}
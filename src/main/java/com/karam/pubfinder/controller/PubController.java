@@ -1,15 +1,37 @@
 package com.karam.pubfinder.controller;
 
+import com.karam.pubfinder.config.WebMvcConfig;
+import com.karam.pubfinder.dto.PubDetailsResponse;
 import com.karam.pubfinder.dto.PubResponse;
+import com.karam.pubfinder.service.CoalescingReadService;
+import com.karam.pubfinder.service.PubCatalogCache;
+import com.karam.pubfinder.service.PubCatalogCache.CatalogPayload;
+import com.karam.pubfinder.service.PubDetailsService;
+import com.karam.pubfinder.service.PubEventBroadcaster;
 import com.karam.pubfinder.service.PubService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.util.InvalidMimeTypeException;
+import org.springframework.util.MimeTypeUtils;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Objects;
 
 @RestController
 @RequestMapping("/pubs")
@@ -17,22 +39,186 @@ import java.util.List;
 @Tag(name = "Pubs", description = "Pub management endpoints")
 public class PubController {
 
+    private static final int MAX_REVIEW_PAGE_SIZE = 100;
+    private static final int MAX_IDS_PER_REQUEST = 100;
+    private static final MediaType APPLICATION_SMILE = MediaType.parseMediaType(WebMvcConfig.APPLICATION_SMILE_VALUE);
+
     private final PubService pubService;
+    private final PubCatalogCache pubCatalogCache;
+    private final CoalescingReadService coalescingReadService;
+    private final PubDetailsService pubDetailsService;
+    private final PubEventBroadcaster pubEventBroadcaster;
 
     @GetMapping
     @Operation(summary = "Get all pubs",
             description = "Get all pubs. Can be sorted by rating using 'sortBy' parameter: 'asc' or 'desc'")
-    public ResponseEntity<List<PubResponse>> getAllPubs(
+    @ApiResponse(responseCode = "200", content = {
+            @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
+                    array = @ArraySchema(schema = @Schema(implementation = PubResponse.class))),
+            @Content(mediaType = MediaType.APPLICATION_CBOR_VALUE,
+                    array = @ArraySchema(schema = @Schema(implementation = PubResponse.class))),
+            @Content(mediaType = WebMvcConfig.APPLICATION_SMILE_VALUE,
+                    array = @ArraySchema(schema = @Schema(implementation = PubResponse.class)))})
+    public ResponseEntity<?> getAllPubs(
             @Parameter(description = "Sort by rating: 'asc' or 'desc'")
-            @RequestParam(required = false) String sortBy) {
-        List<PubResponse> pubs = pubService.getAllPubs(sortBy);
-        return ResponseEntity.ok(pubs);
+            @RequestParam(required = false) String sortBy,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        // Served from pre-serialized bytes; the body is the same for every caller
+        CatalogPayload payload = pubCatalogCache.get(sortBy);
+
+        MediaType binaryFormat = binaryFormat(accept);
+        if (binaryFormat != null) {
+            boolean cbor = binaryFormat.equals(MediaType.APPLICATION_CBOR);
+            String etag = cbor ? payload.cborEtag() : payload.smileEtag();
+            if (etag.equals(ifNoneMatch)) {
+                return notModified(etag);
+            }
+            return ResponseEntity.ok()
+                    .contentType(binaryFormat)
+                    .eTag(etag)
+                    .varyBy(HttpHeaders.ACCEPT, HttpHeaders.ACCEPT_ENCODING)
+                    .body(cbor ? payload.cbor() : payload.smile());
+        }
+
+        boolean gzip = acceptsGzip(acceptEncoding);
+        String etag = gzip ? payload.gzipEtag() : payload.etag();
+
+        if (etag.equals(ifNoneMatch)) {
+            return notModified(etag);
+        }
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .eTag(etag)
+                .varyBy(HttpHeaders.ACCEPT, HttpHeaders.ACCEPT_ENCODING);
+
+        if (gzip) {
+            return response.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(payload.gzip());
+        }
+        return response.body(payload.json());
+    }
+
+    // The body depends on both headers, so shared caches must key on them
+    private static ResponseEntity<?> notModified(String etag) {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                .eTag(etag)
+                .varyBy(HttpHeaders.ACCEPT, HttpHeaders.ACCEPT_ENCODING)
+                .build();
+    }
+
+    @GetMapping(params = "ids")
+    @Operation(summary = "Get several pubs by ID",
+            description = "Up to 100 comma-separated ids, returned in the order given. Unknown ids are skipped.")
+    public ResponseEntity<List<PubResponse>> getPubsByIds(@RequestParam List<Long> ids) {
+        List<Long> distinctIds = ids.stream().filter(Objects::nonNull).distinct().toList();
+        if (distinctIds.size() > MAX_IDS_PER_REQUEST) {
+            return ResponseEntity.badRequest().build();
+        }
+        if (distinctIds.isEmpty()) {
+            return ResponseEntity.ok(List.of());
+        }
+        return ResponseEntity.ok(pubService.getPubsByIds(distinctIds));
     }
 
     @GetMapping("/{id}")
     @Operation(summary = "Get pub by ID")
     public ResponseEntity<PubResponse> getPubById(@PathVariable Long id) {
-        PubResponse pub = pubService.getPubById(id);
+        PubResponse pub = coalescingReadService.getPubById(id);
         return ResponseEntity.ok(pub);
     }
-}
\ No newline at end of file
+
+    @GetMapping("/{id}/details")
+    @Operation(summary = "Get everything for the pub screen",
+            description = "Pub, rating histogram, review count and the newest page of reviews in one response. "
+                    + "Like flags are set when called with a JWT.")
+    public ResponseEntity<PubDetailsResponse> getPubDetails(
+            @PathVariable Long id,
+            @Parameter(description = "Zero-based review page") @RequestParam(defaultValue = "0") int page,
+            @Parameter(description = "Reviews per page, at most 100") @RequestParam(defaultValue = "20") int size,
+            Authentication authentication) {
+        PubDetailsResponse details = pubDetailsService.getPubDetails(id, Math.max(0, page),
+                Math.min(Math.max(1, size), MAX_REVIEW_PAGE_SIZE), getCurrentUserId(authentication));
+        return ResponseEntity.ok(details);
+    }
+
+    @GetMapping(path = "/{id}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Stream live changes for a pub",
+            description = "Server-Sent Events: review-created, review-updated, review-deleted (review id), "
+                    + "like-count (review id and count) and rating-changed (new rating), sent after commit. "
+                    + "Clients that fall behind, or whose server lost touch with the other nodes, are disconnected "
+                    + "and should reconnect and reload.")
+    public ResponseEntity<SseEmitter> streamPubEvents(@PathVariable Long id) {
+        // Unknown pubs fail the same way as GET /pubs/{id}
+        coalescingReadService.getPubById(id);
+
+        SseEmitter emitter = pubEventBroadcaster.subscribe(id);
+        if (emitter == null) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, "10")
+                    .build();
+        }
+        return ResponseEntity.ok()
+                // Stops nginx from buffering the stream
+                .header("X-Accel-Buffering", "no")
+                .body(emitter);
+    }
+
+    // Same rules as ReviewController: anonymous callers get no like flags
+    private Long getCurrentUserId(Authentication authentication) {
+        if (authentication != null && authentication.getPrincipal() instanceof Long userId) {
+            return userId;
+        }
+        return null;
+    }
+
+    // Null for JSON. Follows q-values and specificity, so "application/cbor;q=0" never picks CBOR
+    private static MediaType binaryFormat(String accept) {
+        if (accept == null || accept.isBlank()) {
+            return null;
+        }
+        List<MediaType> accepted;
+        try {
+            accepted = new ArrayList<>(MediaType.parseMediaTypes(accept));
+            MimeTypeUtils.sortBySpecificity(accepted);
+        } catch (InvalidMediaTypeException | InvalidMimeTypeException e) {
+            return null;
+        }
+        // Stable, so equally weighted types keep their specificity order
+        accepted.sort(Comparator.comparingDouble(MediaType::getQualityValue).reversed());
+
+        for (MediaType mediaType : accepted) {
+            if (mediaType.getQualityValue() == 0) {
+                continue;
+            }
+            if (mediaType.includes(MediaType.APPLICATION_JSON)) {
+                return null;
+            }
+            if (mediaType.includes(MediaType.APPLICATION_CBOR)) {
+                return MediaType.APPLICATION_CBOR;
+            }
+            if (mediaType.includes(APPLICATION_SMILE)) {
+                return APPLICATION_SMILE;
+            }
+        }
+        return null;
+    }
+
+    private static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.trim().split(";");
+            String name = parts[0].trim();
+            if (!"gzip".equalsIgnoreCase(name) && !"*".equals(name)) {
+                continue;
+            }
+            // "gzip;q=0" explicitly refuses it
+            String quality = parts.length > 1 ? parts[1].replace(" ", "") : "";
+            return !(quality.startsWith("q=0") && quality.chars().skip(3).allMatch(c -> c == '.' || c == '0'));
+        }
+        return false;
+    }
+}
@@ -1,8 +1,14 @@
 package com.karam.pubfinder.controller;
 
+import com.karam.pubfinder.dto.LikeStatusRequest;
+import com.karam.pubfinder.dto.LikeStatusResponse;
 import com.karam.pubfinder.dto.ReviewRequest;
 import com.karam.pubfinder.dto.ReviewResponse;
+import com.karam.pubfinder.service.CoalescingReadService;
+import com.karam.pubfinder.service.LikeStatusService;
+import com.karam.pubfinder.service.OptimisticLockRetrier;
 import com.karam.pubfinder.service.ReviewService;
+import com.karam.pubfinder.service.TrendingService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -15,6 +21,7 @@ import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
+import java.util.Objects;
 
 @Slf4j
 @RestController
@@ -23,7 +30,13 @@ import java.util.List;
 @Tag(name = "Reviews", description = "Review management endpoints")
 public class ReviewController {
 
+    private static final int MAX_IDS_PER_REQUEST = 100;
+
     private final ReviewService reviewService;
+    private final CoalescingReadService coalescingReadService;
+    private final LikeStatusService likeStatusService;
+    private final OptimisticLockRetrier optimisticLockRetrier;
+    private final TrendingService trendingService;
 
     /**
      * Helper to extract User ID from Authentication.
@@ -62,6 +75,34 @@ public class ReviewController {
         return ResponseEntity.ok(reviews);
     }
 
+    @GetMapping(params = "ids")
+    @Operation(summary = "Get several reviews by ID",
+            description = "Up to 100 comma-separated ids, returned in the order given. Unknown ids are skipped.")
+    public ResponseEntity<List<ReviewResponse>> getReviewsByIds(@RequestParam List<Long> ids, Authentication authentication) {
+        List<Long> distinctIds = ids.stream().filter(Objects::nonNull).distinct().toList();
+        if (distinctIds.size() > MAX_IDS_PER_REQUEST) {
+            return ResponseEntity.badRequest().build();
+        }
+        if (distinctIds.isEmpty()) {
+            return ResponseEntity.ok(List.of());
+        }
+        Long currentUserId = getCurrentUserId(authentication);
+        List<ReviewResponse> reviews = reviewService.getReviewsByIds(distinctIds, currentUserId);
+        return ResponseEntity.ok(reviews);
+    }
+
+    @GetMapping("/trending")
+    @Operation(summary = "Get trending reviews",
+            description = "Reviews ranked by recent likes and recency, across all pubs or for one pub. At most 100.")
+    public ResponseEntity<List<ReviewResponse>> getTrendingReviews(
+            @RequestParam(required = false) Long pubId,
+            @RequestParam(defaultValue = "20") int size,
+            Authentication authentication) {
+        List<ReviewResponse> reviews = trendingService.getTrendingReviews(pubId,
+                Math.min(Math.max(1, size), MAX_IDS_PER_REQUEST), getCurrentUserId(authentication));
+        return ResponseEntity.ok(reviews);
+    }
+
     @GetMapping("/{id}")
     @Operation(summary = "Get review by ID", description = "Get a specific review by its ID")
     public ResponseEntity<ReviewResponse> getReviewById(@PathVariable Long id, Authentication authentication) {
@@ -74,7 +115,7 @@ public class ReviewController {
     @Operation(summary = "Get all reviews for a pub", description = "Get all reviews for a specific pub")
     public ResponseEntity<List<ReviewResponse>> getReviewsByPubId(@PathVariable Long pubId, Authentication authentication) {
         Long currentUserId = getCurrentUserId(authentication);
-        List<ReviewResponse> reviews = reviewService.getReviewsByPubId(pubId, currentUserId);
+        List<ReviewResponse> reviews = coalescingReadService.getReviewsByPubId(pubId, currentUserId);
         return ResponseEntity.ok(reviews);
     }
 
@@ -95,7 +136,8 @@ public class ReviewController {
             @Valid @RequestBody ReviewRequest request,
             Authentication authentication) {
         Long userId = (Long) authentication.getPrincipal();
-        ReviewResponse response = reviewService.updateReview(id, request, userId);
+        ReviewResponse response = optimisticLockRetrier.execute("update-review",
+                () -> reviewService.updateReview(id, request, userId));
         return ResponseEntity.ok(response);
     }
 
@@ -107,7 +149,7 @@ public class ReviewController {
             @PathVariable Long id,
             Authentication authentication) {
         Long userId = (Long) authentication.getPrincipal();
-        reviewService.deleteReview(id, userId);
+        optimisticLockRetrier.run("delete-review", () -> reviewService.deleteReview(id, userId));
         return ResponseEntity.noContent().build();
     }
 
@@ -119,6 +161,7 @@ public class ReviewController {
             @PathVariable Long id,
             Authentication authentication) {
         Long userId = (Long) authentication.getPrincipal();
+        // like_count is bumped atomically in the database, so concurrent likes no longer conflict
         ReviewResponse response = reviewService.likeReview(id, userId);
         return ResponseEntity.ok(response);
     }
@@ -134,4 +177,17 @@ public class ReviewController {
         ReviewResponse response = reviewService.unlikeReview(id, userId);
         return ResponseEntity.ok(response);
     }
-}
\ No newline at end of file
+
+    @PostMapping("/likes/status")
+    @Operation(summary = "Get like status for several reviews (requires authentication)",
+            description = "Takes up to 500 review IDs and returns those the caller has liked, "
+                    + "so cached reviews can be refreshed without downloading them again.",
+            security = @SecurityRequirement(name = "bearer-jwt"))
+    public ResponseEntity<LikeStatusResponse> getLikeStatus(
+            @Valid @RequestBody LikeStatusRequest request,
+            Authentication authentication) {
+        Long userId = (Long) authentication.getPrincipal();
+        List<Long> likedReviewIds = likeStatusService.getLikedReviewIds(userId, request.getReviewIds());
+        return ResponseEntity.ok(LikeStatusResponse.builder().likedReviewIds(likedReviewIds).build());
+    }
+}
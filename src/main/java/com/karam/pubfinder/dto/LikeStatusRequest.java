@@ -0,0 +1,21 @@
+package com.karam.pubfinder.dto;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class LikeStatusRequest {
+
+    @NotNull(message = "Review IDs are required")
+    @Size(max = 500, message = "At most 500 review IDs per request")
+    private List<Long> reviewIds;
+}
@@ -0,0 +1,18 @@
+package com.karam.pubfinder.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class LikeStatusResponse {
+
+    // The requested reviews the caller has liked, in request order; every other id is not liked
+    private List<Long> likedReviewIds;
+}
@@ -0,0 +1,24 @@
+package com.karam.pubfinder.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PubDetailsResponse {
+
+    // Carries the rating histogram and review count
+    private PubResponse pub;
+
+    // Newest first
+    private List<ReviewResponse> reviews;
+    private int page;
+    private int size;
+    private boolean hasMore;
+}
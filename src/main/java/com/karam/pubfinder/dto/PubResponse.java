@@ -7,6 +7,7 @@ import lombok.NoArgsConstructor;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.Map;
 
 @Data
 @NoArgsConstructor
@@ -21,6 +22,9 @@ public class PubResponse {
     private String menuUrl;
     private String imageUrl;
     private BigDecimal rating;
+    // Number of reviews per star value, 0 to 5
+    private Map<Integer, Long> ratingHistogram;
+    private Long reviewCount;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
 }
\ No newline at end of file
@@ -0,0 +1,28 @@
+package com.karam.pubfinder.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * A one-time data backfill that has run to completion, so nodes starting later skip it.
+ */
+@Entity
+@Table(name = "data_backfills")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class DataBackfill {
+
+    @Id
+    @Column(length = 100)
+    private String name;
+
+    @Column(name = "completed_at", nullable = false)
+    private LocalDateTime completedAt;
+}
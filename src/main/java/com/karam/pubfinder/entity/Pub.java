@@ -5,6 +5,9 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.ColumnDefault;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
@@ -15,6 +18,9 @@ import java.util.List;
 
 @Entity
 @Table(name = "pubs")
+// Read on nearly every request, written only when a rating changes; ClusterCacheInvalidator
+// evicts it on the other nodes
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -44,6 +50,12 @@ public class Pub {
     @Builder.Default
     private BigDecimal rating = BigDecimal.ZERO;
 
+    // Primitive, so Spring Data still decides new vs existing by id; the default fills existing rows
+    @Version
+    @Column(nullable = false)
+    @ColumnDefault("0")
+    private long version;
+
     @CreationTimestamp
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
@@ -52,7 +64,7 @@ public class Pub {
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
 
-    @OneToMany(mappedBy = "pub", cascade = CascadeType.ALL, orphanRemoval = true)
+    @OneToMany(mappedBy = "pub")
     @Builder.Default
     private List<Review> reviews = new ArrayList<>();
 }
\ No newline at end of file
@@ -0,0 +1,50 @@
+package com.karam.pubfinder.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.ColumnDefault;
+
+/**
+ * Review count per star value for one pub. Kept in its own table and written only through
+ * {@code PubRatingStatsRepository#applyDelta}, so review writes never rewrite (and evict) the
+ * cached pub row just to move a count.
+ */
+@Entity
+@Table(name = "pub_rating_stats")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PubRatingStats {
+
+    @Id
+    @Column(name = "pub_id")
+    private Long pubId;
+
+    @Column(name = "stars_0", nullable = false)
+    @ColumnDefault("0")
+    private long stars0;
+
+    @Column(name = "stars_1", nullable = false)
+    @ColumnDefault("0")
+    private long stars1;
+
+    @Column(name = "stars_2", nullable = false)
+    @ColumnDefault("0")
+    private long stars2;
+
+    @Column(name = "stars_3", nullable = false)
+    @ColumnDefault("0")
+    private long stars3;
+
+    @Column(name = "stars_4", nullable = false)
+    @ColumnDefault("0")
+    private long stars4;
+
+    @Column(name = "stars_5", nullable = false)
+    @ColumnDefault("0")
+    private long stars5;
+}
@@ -5,7 +5,11 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.ColumnDefault;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+import org.hibernate.annotations.SQLRestriction;
 import org.hibernate.annotations.UpdateTimestamp;
 
 import java.time.LocalDateTime;
@@ -14,6 +18,8 @@ import java.util.List;
 
 @Entity
 @Table(name = "reviews")
+// Deleted reviews are invisible to every entity load and query until ReviewPurger removes them
+@SQLRestriction("deleted_at IS NULL")
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -26,10 +32,12 @@ public class Review {
 
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id", nullable = false)
+    @OnDelete(action = OnDeleteAction.CASCADE)
     private User user;
 
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "pub_id", nullable = false)
+    @OnDelete(action = OnDeleteAction.CASCADE)
     private Pub pub;
 
     @Column(nullable = false, columnDefinition = "TEXT")
@@ -38,10 +46,18 @@ public class Review {
     @Column(nullable = false)
     private Integer rate;
 
-    @Column(name = "like_count")
+    // Never written back from the entity: only the atomic counter updates in ReviewRepository
+    // change it, so an edit saved with a stale count cannot undo concurrent likes
+    @Column(name = "like_count", updatable = false)
     @Builder.Default
     private Integer likeCount = 0;
 
+    // Guards edits and deletes racing each other; likes change likeCount in SQL and leave it alone
+    @Version
+    @Column(nullable = false)
+    @ColumnDefault("0")
+    private long version;
+
     @CreationTimestamp
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
@@ -50,7 +66,11 @@ public class Review {
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
 
-    @OneToMany(mappedBy = "review", cascade = CascadeType.ALL, orphanRemoval = true)
+    @Column(name = "deleted_at")
+    private LocalDateTime deletedAt;
+
+    // Read-only view: likes are removed by ReviewPurger or the database cascade
+    @OneToMany(mappedBy = "review")
     @Builder.Default
     private List<ReviewLike> likes = new ArrayList<>();
 }
\ No newline at end of file
@@ -6,12 +6,17 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
 
 import java.time.LocalDateTime;
 
 @Entity
 @Table(name = "review_likes", uniqueConstraints = {
         @UniqueConstraint(name = "uk_review_user", columnNames = {"review_id", "user_id"})
+}, indexes = {
+        // "Which of these reviews has this user liked?" is answered from the index alone
+        @Index(name = "idx_review_likes_user_review", columnList = "user_id, review_id")
 })
 @Data
 @NoArgsConstructor
@@ -23,12 +28,15 @@ public class ReviewLike {
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
+    // Foreign keys cascade in the database, so deleting a review or user never loads its likes
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "review_id", nullable = false)
+    @OnDelete(action = OnDeleteAction.CASCADE)
     private Review review;
 
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id", nullable = false)
+    @OnDelete(action = OnDeleteAction.CASCADE)
     private User user;
 
     @CreationTimestamp
@@ -0,0 +1,36 @@
+package com.karam.pubfinder.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Checkpoint of one review's trending score, written by {@code TrendingService} so a restarted
+ * node does not start from an empty feed. {@code score} is the decayed value as of
+ * {@code checkpointedAt}. Every node merges its scores into the same rows.
+ */
+@Entity
+@Table(name = "trending_review_scores")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TrendingReviewScore {
+
+    @Id
+    @Column(name = "review_id")
+    private Long reviewId;
+
+    @Column(name = "pub_id", nullable = false)
+    private Long pubId;
+
+    @Column(nullable = false)
+    private double score;
+
+    @Column(name = "checkpointed_at", nullable = false)
+    private LocalDateTime checkpointedAt;
+}
@@ -0,0 +1,10 @@
+package com.karam.pubfinder.event;
+
+import java.math.BigDecimal;
+
+/**
+ * Published when a pub's stored rating changes; listeners that run after commit see the new value.
+ * Star counts move with every {@link ReviewChangedEvent} whose {@code rateChanged} is set.
+ */
+public record PubRatingChangedEvent(Long pubId, BigDecimal rating) {
+}
@@ -0,0 +1,12 @@
+package com.karam.pubfinder.event;
+
+/**
+ * Published when a review is created, edited or deleted; listeners that run after commit see the change.
+ * {@code rateChanged} tells whether the pub's rating needs recomputing.
+ */
+public record ReviewChangedEvent(Long reviewId, Long pubId, Type type, boolean rateChanged) {
+
+    public enum Type {
+        CREATED, UPDATED, DELETED
+    }
+}
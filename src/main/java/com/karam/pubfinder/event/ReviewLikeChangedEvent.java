@@ -0,0 +1,7 @@
+package com.karam.pubfinder.event;
+
+/**
+ * Published when a user likes or unlikes a review; listeners that run after commit see the new state.
+ */
+public record ReviewLikeChangedEvent(Long reviewId, Long pubId, Long userId, boolean liked, int likeCount) {
+}
@@ -0,0 +1,195 @@
+package com.karam.pubfinder.filters;
+
+import com.karam.pubfinder.dto.LoginRequest;
+import com.karam.pubfinder.utils.TokenBucketRateLimiter;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import tools.jackson.core.JacksonException;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throttles login and registration before the request reaches {@code AuthService}, so credential
+ * stuffing is rejected without spending BCrypt CPU or a database round trip.
+ * <p>
+ * Every auth request takes a token from the caller's IP bucket; login requests additionally
+ * take one from the bucket of the username they are trying.
+ */
+@Component
+public class AuthRateLimitFilter extends OncePerRequestFilter {
+
+    private static final int MAX_BUFFERED_BODY = 4096;
+
+    private final JsonMapper jsonMapper;
+    private final TokenBucketRateLimiter ipLimiter;
+    private final TokenBucketRateLimiter accountLimiter;
+
+    public AuthRateLimitFilter(JsonMapper jsonMapper,
+                               @Value("${rate-limit.auth.ip.capacity}") int ipCapacity,
+                               @Value("${rate-limit.auth.ip.refill-per-minute}") int ipRefillPerMinute,
+                               @Value("${rate-limit.auth.account.capacity}") int accountCapacity,
+                               @Value("${rate-limit.auth.account.refill-per-minute}") int accountRefillPerMinute,
+                               @Value("${rate-limit.auth.max-keys}") int maxKeys) {
+        this.jsonMapper = jsonMapper;
+        this.ipLimiter = new TokenBucketRateLimiter(ipCapacity, ipRefillPerMinute, maxKeys);
+        this.accountLimiter = new TokenBucketRateLimiter(accountCapacity, accountRefillPerMinute, maxKeys);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String path = request.getServletPath();
+        return !"POST".equals(request.getMethod())
+                || !("/auth/login".equals(path) || "/auth/register".equals(path));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+
+        long waitNanos = ipLimiter.tryAcquire(request.getRemoteAddr());
+        if (waitNanos > 0) {
+            reject(response, waitNanos);
+            return;
+        }
+
+        if ("/auth/login".equals(request.getServletPath())) {
+            CachedBodyRequest cachedRequest = new CachedBodyRequest(request);
+            String username = extractUsername(cachedRequest);
+
+            if (username != null) {
+                waitNanos = accountLimiter.tryAcquire(username.toLowerCase(Locale.ROOT));
+                if (waitNanos > 0) {
+                    reject(response, waitNanos);
+                    return;
+                }
+            }
+            request = cachedRequest;
+        }
+
+        filterChain.doFilter(request, response);
+    }
+
+    private String extractUsername(CachedBodyRequest request) {
+        if (!request.isFullyBuffered()) {
+            return null;
+        }
+        try {
+            return jsonMapper.readValue(request.getBufferedBody(), LoginRequest.class).getUsername();
+        } catch (JacksonException e) {
+            // Malformed bodies are rejected by validation further down the chain
+            return null;
+        }
+    }
+
+    private void reject(HttpServletResponse response, long waitNanos) throws IOException {
+        long retryAfterSeconds = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + 999_999_999L));
+
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.getWriter().write("{\"status\":429,\"error\":\"Too Many Requests\","
+                + "\"message\":\"Too many authentication attempts, retry in " + retryAfterSeconds + " seconds\"}");
+    }
+
+    /**
+     * Buffers the head of the body so the username can be read here and the full body
+     * is still available to the controller.
+     */
+    private static class CachedBodyRequest extends HttpServletRequestWrapper {
+
+        private final byte[] bufferedBody;
+        private final boolean fullyBuffered;
+
+        CachedBodyRequest(HttpServletRequest request) throws IOException {
+            super(request);
+            this.bufferedBody = request.getInputStream().readNBytes(MAX_BUFFERED_BODY);
+            this.fullyBuffered = bufferedBody.length < MAX_BUFFERED_BODY;
+        }
+
+        byte[] getBufferedBody() {
+            return bufferedBody;
+        }
+
+        boolean isFullyBuffered() {
+            return fullyBuffered;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() throws IOException {
+            ByteArrayInputStream head = new ByteArrayInputStream(bufferedBody);
+            ServletInputStream rest = fullyBuffered ? null : super.getInputStream();
+
+            // The buffered head first, then whatever the container still holds
+            return new ServletInputStream() {
+
+                @Override
+                public int read() throws IOException {
+                    if (head.available() > 0) {
+                        return head.read();
+                    }
+                    return rest == null ? -1 : rest.read();
+                }
+
+                @Override
+                public int read(byte[] buffer, int off, int len) throws IOException {
+                    if (head.available() > 0) {
+                        return head.read(buffer, off, len);
+                    }
+                    return rest == null ? -1 : rest.read(buffer, off, len);
+                }
+
+                @Override
+                public boolean isFinished() {
+                    return head.available() == 0 && (rest == null || rest.isFinished());
+                }
+
+                @Override
+                public boolean isReady() {
+                    return head.available() > 0 || rest == null || rest.isReady();
+                }
+
+                @Override
+                public void setReadListener(ReadListener readListener) {
+                    if (rest != null && !rest.isFinished()) {
+                        // The container calls back when it has data; the listener reads the head first
+                        rest.setReadListener(readListener);
+                        return;
+                    }
+                    // Everything is already in memory
+                    try {
+                        readListener.onDataAvailable();
+                        readListener.onAllDataRead();
+                    } catch (IOException e) {
+                        readListener.onError(e);
+                    }
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() throws IOException {
+            String encoding = getCharacterEncoding();
+            return new BufferedReader(new InputStreamReader(getInputStream(),
+                    encoding != null ? encoding : StandardCharsets.UTF_8.name()));
+        }
+    }
+}
@@ -1,6 +1,8 @@
 package com.karam.pubfinder.filters;
 
+import com.karam.pubfinder.service.TokenRevocationService;
 import com.karam.pubfinder.utils.JwtUtil;
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -20,6 +22,7 @@ import java.util.ArrayList;
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtUtil jwtUtil;
+    private final TokenRevocationService tokenRevocationService;
 
     @Override
     protected void doFilterInternal(HttpServletRequest request,
@@ -31,8 +34,10 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         if (authHeader != null && authHeader.startsWith("Bearer ")) {
             String token = authHeader.substring(7);
 
-            if (jwtUtil.validateToken(token)) {
-                Long accountId = jwtUtil.getAccountIdFromToken(token);
+            Claims claims = jwtUtil.parseClaims(token);
+
+            if (claims != null && !tokenRevocationService.isRevoked(claims.getId())) {
+                Long accountId = Long.parseLong(claims.getSubject());
 
                 UsernamePasswordAuthenticationToken authentication =
                         new UsernamePasswordAuthenticationToken(accountId, null, new ArrayList<>());
@@ -0,0 +1,149 @@
+package com.karam.pubfinder.filters;
+
+import com.karam.pubfinder.utils.SqlStatementStats;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.time.Duration;
+
+/**
+ * Records how many SQL statements each request issued and how long they took in JDBC.
+ * Always published as metrics per URI template; optionally echoed in response headers
+ * (meant for non-production), and logged when a request goes over budget.
+ */
+@Slf4j
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class SqlStatementStatsFilter extends OncePerRequestFilter {
+
+    public static final String STATEMENTS_HEADER = "X-Sql-Statements";
+    public static final String JDBC_TIME_HEADER = "X-Sql-Time-Ms";
+
+    private final MeterRegistry meterRegistry;
+    private final boolean responseHeaders;
+    private final int slowStatementThreshold;
+    private final long slowJdbcTimeMillis;
+
+    public SqlStatementStatsFilter(MeterRegistry meterRegistry,
+                                   @Value("${sql-stats.response-headers}") boolean responseHeaders,
+                                   @Value("${sql-stats.log-threshold.statements}") int slowStatementThreshold,
+                                   @Value("${sql-stats.log-threshold.jdbc-time-ms}") long slowJdbcTimeMillis) {
+        this.meterRegistry = meterRegistry;
+        this.responseHeaders = responseHeaders;
+        this.slowStatementThreshold = slowStatementThreshold;
+        this.slowJdbcTimeMillis = slowJdbcTimeMillis;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+
+        SqlStatementStats stats = SqlStatementStats.reset();
+        StatsHeaderResponse wrappedResponse = responseHeaders ? new StatsHeaderResponse(response, stats) : null;
+
+        try {
+            filterChain.doFilter(request, wrappedResponse != null ? wrappedResponse : response);
+        } finally {
+            if (wrappedResponse != null) {
+                wrappedResponse.writeStatsHeaders();
+            }
+            record(request, stats);
+            SqlStatementStats.clear();
+        }
+    }
+
+    private void record(HttpServletRequest request, SqlStatementStats stats) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = pattern != null ? pattern.toString() : "UNKNOWN";
+
+        DistributionSummary.builder("http.server.requests.sql.statements")
+                .description("SQL statements issued per HTTP request")
+                .tag("method", request.getMethod())
+                .tag("uri", uri)
+                .register(meterRegistry)
+                .record(stats.getStatementCount());
+
+        Timer.builder("http.server.requests.sql.time")
+                .description("Time spent in JDBC per HTTP request")
+                .tag("method", request.getMethod())
+                .tag("uri", uri)
+                .register(meterRegistry)
+                .record(Duration.ofMillis(stats.getJdbcTimeMillis()));
+
+        if (stats.getStatementCount() > slowStatementThreshold || stats.getJdbcTimeMillis() > slowJdbcTimeMillis) {
+            log.warn("{} {} issued {} SQL statements taking {} ms in JDBC", request.getMethod(),
+                    request.getRequestURI(), stats.getStatementCount(), stats.getJdbcTimeMillis());
+        }
+    }
+
+    /**
+     * Adds the stats headers just before the response is committed, which for controller
+     * responses is after the service call and its transaction have completed.
+     */
+    private static class StatsHeaderResponse extends HttpServletResponseWrapper {
+
+        private final SqlStatementStats stats;
+        private boolean written;
+
+        StatsHeaderResponse(HttpServletResponse response, SqlStatementStats stats) {
+            super(response);
+            this.stats = stats;
+        }
+
+        void writeStatsHeaders() {
+            if (written || isCommitted()) {
+                return;
+            }
+            written = true;
+            setHeader(STATEMENTS_HEADER, Integer.toString(stats.getStatementCount()));
+            setHeader(JDBC_TIME_HEADER, Long.toString(stats.getJdbcTimeMillis()));
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            writeStatsHeaders();
+            return super.getOutputStream();
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            writeStatsHeaders();
+            return super.getWriter();
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            writeStatsHeaders();
+            super.flushBuffer();
+        }
+
+        @Override
+        public void sendError(int sc) throws IOException {
+            writeStatsHeaders();
+            super.sendError(sc);
+        }
+
+        @Override
+        public void sendError(int sc, String msg) throws IOException {
+            writeStatsHeaders();
+            super.sendError(sc, msg);
+        }
+    }
+}
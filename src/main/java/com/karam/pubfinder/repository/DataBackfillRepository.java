@@ -0,0 +1,19 @@
+package com.karam.pubfinder.repository;
+
+import com.karam.pubfinder.entity.DataBackfill;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface DataBackfillRepository extends JpaRepository<DataBackfill, String> {
+
+    // Nodes finishing the same backfill together must not fail on the duplicate key
+    @Modifying
+    @Query(value = """
+            INSERT INTO data_backfills (name, completed_at) VALUES (:name, now())
+            ON CONFLICT (name) DO NOTHING
+            """, nativeQuery = true)
+    void markCompleted(String name);
+}
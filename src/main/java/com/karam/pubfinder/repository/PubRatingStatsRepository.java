@@ -0,0 +1,100 @@
+package com.karam.pubfinder.repository;
+
+import com.karam.pubfinder.entity.PubRatingStats;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface PubRatingStatsRepository extends JpaRepository<PubRatingStats, Long> {
+
+    // Native statements invalidate every second-level cache region unless told which tables they touch
+    String STATS_TABLE = "pub_rating_stats";
+
+    /**
+     * Adds {@code delta} to the count for {@code rate}, creating the pub's row on first use.
+     * One atomic statement, so concurrent reviews of the same pub never lose an update.
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = STATS_TABLE))
+    @Query(value = """
+            INSERT INTO pub_rating_stats (pub_id, stars_0, stars_1, stars_2, stars_3, stars_4, stars_5)
+            VALUES (:pubId,
+                    CASE WHEN :rate = 0 THEN :delta ELSE 0 END,
+                    CASE WHEN :rate = 1 THEN :delta ELSE 0 END,
+                    CASE WHEN :rate = 2 THEN :delta ELSE 0 END,
+                    CASE WHEN :rate = 3 THEN :delta ELSE 0 END,
+                    CASE WHEN :rate = 4 THEN :delta ELSE 0 END,
+                    CASE WHEN :rate = 5 THEN :delta ELSE 0 END)
+            ON CONFLICT (pub_id) DO UPDATE SET
+                stars_0 = pub_rating_stats.stars_0 + EXCLUDED.stars_0,
+                stars_1 = pub_rating_stats.stars_1 + EXCLUDED.stars_1,
+                stars_2 = pub_rating_stats.stars_2 + EXCLUDED.stars_2,
+                stars_3 = pub_rating_stats.stars_3 + EXCLUDED.stars_3,
+                stars_4 = pub_rating_stats.stars_4 + EXCLUDED.stars_4,
+                stars_5 = pub_rating_stats.stars_5 + EXCLUDED.stars_5
+            """, nativeQuery = true)
+    void applyDelta(Long pubId, int rate, int delta);
+
+    /**
+     * Moves one review from {@code fromRate} to {@code toRate} in a single statement.
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = STATS_TABLE))
+    @Query(value = """
+            UPDATE pub_rating_stats SET
+                stars_0 = stars_0 + CASE WHEN :toRate = 0 THEN 1 ELSE 0 END - CASE WHEN :fromRate = 0 THEN 1 ELSE 0 END,
+                stars_1 = stars_1 + CASE WHEN :toRate = 1 THEN 1 ELSE 0 END - CASE WHEN :fromRate = 1 THEN 1 ELSE 0 END,
+                stars_2 = stars_2 + CASE WHEN :toRate = 2 THEN 1 ELSE 0 END - CASE WHEN :fromRate = 2 THEN 1 ELSE 0 END,
+                stars_3 = stars_3 + CASE WHEN :toRate = 3 THEN 1 ELSE 0 END - CASE WHEN :fromRate = 3 THEN 1 ELSE 0 END,
+                stars_4 = stars_4 + CASE WHEN :toRate = 4 THEN 1 ELSE 0 END - CASE WHEN :fromRate = 4 THEN 1 ELSE 0 END,
+                stars_5 = stars_5 + CASE WHEN :toRate = 5 THEN 1 ELSE 0 END - CASE WHEN :fromRate = 5 THEN 1 ELSE 0 END
+            WHERE pub_id = :pubId
+            """, nativeQuery = true)
+    void moveRate(Long pubId, int fromRate, int toRate);
+
+    /**
+     * Creates an all-zero row for the pub if it has none, so there is always a row to lock.
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = STATS_TABLE))
+    @Query(value = """
+            INSERT INTO pub_rating_stats (pub_id, stars_0, stars_1, stars_2, stars_3, stars_4, stars_5)
+            VALUES (:pubId, 0, 0, 0, 0, 0, 0)
+            ON CONFLICT (pub_id) DO NOTHING
+            """, nativeQuery = true)
+    void insertIfMissing(Long pubId);
+
+    /**
+     * Locks the pub's row until the end of the transaction. Review writes move counts in the same
+     * transaction as the review itself, so once this returns no uncounted change is in flight.
+     */
+    @Query(value = "SELECT pub_id FROM pub_rating_stats WHERE pub_id = :pubId FOR UPDATE", nativeQuery = true)
+    Long lockByPubId(Long pubId);
+
+    /**
+     * Overwrites the pub's counts with a recount of its live reviews. Only correct while the row
+     * is locked through {@link #lockByPubId}; the recount must read after the lock is granted.
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = STATS_TABLE))
+    @Query(value = """
+            UPDATE pub_rating_stats s SET
+                stars_0 = c.stars_0, stars_1 = c.stars_1, stars_2 = c.stars_2,
+                stars_3 = c.stars_3, stars_4 = c.stars_4, stars_5 = c.stars_5
+            FROM (SELECT COUNT(*) FILTER (WHERE rate = 0) AS stars_0,
+                         COUNT(*) FILTER (WHERE rate = 1) AS stars_1,
+                         COUNT(*) FILTER (WHERE rate = 2) AS stars_2,
+                         COUNT(*) FILTER (WHERE rate = 3) AS stars_3,
+                         COUNT(*) FILTER (WHERE rate = 4) AS stars_4,
+                         COUNT(*) FILTER (WHERE rate = 5) AS stars_5
+                  FROM reviews
+                  WHERE pub_id = :pubId AND deleted_at IS NULL) c
+            WHERE s.pub_id = :pubId
+            """, nativeQuery = true)
+    void recountFromReviews(Long pubId);
+}
@@ -1,7 +1,11 @@
 package com.karam.pubfinder.repository;
 
 import com.karam.pubfinder.entity.Pub;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -9,12 +13,23 @@ import java.util.List;
 @Repository
 public interface PubRepository extends JpaRepository<Pub, Long> {
 
+    // The pub listings are cached until the pubs table next changes
+    @Override
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    List<Pub> findAll();
+
     // Find pubs ordered by rating ascending
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     List<Pub> findAllByOrderByRatingAsc();
 
     // Find pubs ordered by rating descending
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     List<Pub> findAllByOrderByRatingDesc();
 
+    // Ids only, for jobs that work through the pubs one at a time
+    @Query("SELECT p.id FROM Pub p ORDER BY p.id")
+    List<Long> findAllIds();
+
     // Search by title (optional, if you want search functionality)
     List<Pub> findByTitleContainingIgnoreCase(String title);
 }
\ No newline at end of file
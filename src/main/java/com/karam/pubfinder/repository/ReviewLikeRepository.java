@@ -1,19 +1,54 @@
 package com.karam.pubfinder.repository;
 
 import com.karam.pubfinder.entity.ReviewLike;
-import java.util.Optional;
+import jakarta.persistence.QueryHint;
+import java.util.Collection;
 import java.util.Set;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 @Repository
 public interface ReviewLikeRepository extends JpaRepository<ReviewLike, Long> {
     boolean existsByReviewIdAndUserId(Long reviewId, Long userId);
-    Optional<ReviewLike> findByReviewIdAndUserId(Long reviewId, Long userId);
     long countByReviewId(Long reviewId);
 
     // Optimized query to fetch all review IDs liked by a specific user
     @Query("SELECT rl.review.id FROM ReviewLike rl WHERE rl.user.id = :userId")
     Set<Long> findLikedReviewIdsByUserId(Long userId);
+
+    // Liked flags for one page of reviews, without loading everything the user ever liked
+    @Query("SELECT rl.review.id FROM ReviewLike rl WHERE rl.user.id = :userId AND rl.review.id IN :reviewIds")
+    Set<Long> findLikedReviewIdsByUserIdAndReviewIdIn(Long userId, Collection<Long> reviewIds);
+
+    // The unique (review_id, user_id) key decides: 0 means the user already liked the review
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "review_likes"))
+    @Query(value = """
+            INSERT INTO review_likes (review_id, user_id, created_at) VALUES (:reviewId, :userId, now())
+            ON CONFLICT (review_id, user_id) DO NOTHING
+            """, nativeQuery = true)
+    int insertIfAbsent(Long reviewId, Long userId);
+
+    // 0 means the user had not liked the review
+    @Modifying
+    @Query("DELETE FROM ReviewLike rl WHERE rl.review.id = :reviewId AND rl.user.id = :userId")
+    int bulkDeleteByReviewIdAndUserId(Long reviewId, Long userId);
+
+    /**
+     * Deletes up to {@code batchSize} likes of one review in a transaction of its own, so purging
+     * a heavily liked review never holds locks or piles up WAL in one go. Returns the number deleted.
+     */
+    @Transactional
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "review_likes"))
+    @Query(value = """
+            DELETE FROM review_likes
+            WHERE id IN (SELECT id FROM review_likes WHERE review_id = :reviewId LIMIT :batchSize)
+            """, nativeQuery = true)
+    int deleteBatchByReviewId(Long reviewId, int batchSize);
 }
\ No newline at end of file
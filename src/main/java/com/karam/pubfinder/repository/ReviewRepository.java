@@ -1,14 +1,72 @@
 package com.karam.pubfinder.repository;
 
 import com.karam.pubfinder.entity.Review;
+import jakarta.persistence.QueryHint;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 @Repository
 public interface ReviewRepository extends JpaRepository<Review, Long> {
     List<Review> findByPubId(Long pubId);
     List<Review> findByUserId(Long userId);
+
+    // Author and pub come in the same statement, so mapping the result needs no further queries
+    @EntityGraph(attributePaths = {"user", "pub"})
     Optional<Review> findByIdAndUserId(Long id, Long userId);
+
+    @EntityGraph(attributePaths = {"user", "pub"})
+    Optional<Review> findWithUserAndPubById(Long id);
+
+    // Newest reviews by primary key, to seed the trending feed when there is no checkpoint
+    List<Review> findByOrderByIdDesc(Limit limit);
+
+    // One page of a pub's reviews with their authors, newest first
+    @EntityGraph(attributePaths = "user")
+    Slice<Review> findByPubIdOrderByCreatedAtDesc(Long pubId, Pageable pageable);
+
+    // Batch lookup with authors and pubs, so mapping the result needs no further queries
+    @EntityGraph(attributePaths = {"user", "pub"})
+    List<Review> findByIdIn(Collection<Long> ids);
+
+    // Counter updates return the new value, so no read follows them
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = REVIEWS_TABLE))
+    @Query(value = "UPDATE reviews SET like_count = like_count + 1 WHERE id = :id RETURNING like_count",
+            nativeQuery = true)
+    int incrementLikeCount(Long id);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = REVIEWS_TABLE))
+    @Query(value = "UPDATE reviews SET like_count = GREATEST(like_count - 1, 0) WHERE id = :id RETURNING like_count",
+            nativeQuery = true)
+    int decrementLikeCount(Long id);
+
+    // The purge statements are native: @SQLRestriction hides deleted reviews from JPQL as well
+    String REVIEWS_TABLE = "reviews";
+
+    // Oldest deletions first, read from the partial index below
+    @Query(value = "SELECT id FROM reviews WHERE deleted_at IS NOT NULL ORDER BY deleted_at LIMIT :limit",
+            nativeQuery = true)
+    List<Long> findIdsPendingPurge(int limit);
+
+    // Leaves the row alone while any like still points at it; the next purge run finishes it
+    @Transactional
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = REVIEWS_TABLE))
+    @Query(value = """
+            DELETE FROM reviews r
+            WHERE r.id = :id AND r.deleted_at IS NOT NULL
+              AND NOT EXISTS (SELECT 1 FROM review_likes rl WHERE rl.review_id = r.id)
+            """, nativeQuery = true)
+    int deletePurged(Long id);
 }
\ No newline at end of file
@@ -0,0 +1,23 @@
+package com.karam.pubfinder.repository;
+
+import com.karam.pubfinder.entity.RevokedToken;
+import java.time.LocalDateTime;
+import java.util.List;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface RevokedTokenRepository extends JpaRepository<RevokedToken, String> {
+
+    // Full load on startup: only tokens that could still pass signature validation
+    List<RevokedToken> findByExpiresAtAfter(LocalDateTime now);
+
+    // Incremental sync of revocations made on other nodes
+    List<RevokedToken> findByRevokedAtAfter(LocalDateTime since);
+
+    @Modifying
+    @Query("DELETE FROM RevokedToken t WHERE t.expiresAt < :now")
+    int deleteExpired(LocalDateTime now);
+}
@@ -0,0 +1,50 @@
+package com.karam.pubfinder.repository;
+
+import com.karam.pubfinder.entity.TrendingReviewScore;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+
+@Repository
+public interface TrendingReviewScoreRepository extends JpaRepository<TrendingReviewScore, Long> {
+
+    // Native statements invalidate every second-level cache region unless told which tables they touch
+    String SCORES_TABLE = "trending_review_scores";
+
+    /**
+     * True when this transaction now holds the checkpoint lock; false, without waiting, when
+     * another node's checkpoint holds it.
+     */
+    @Query(value = "SELECT pg_try_advisory_xact_lock(hashtext('trending_review_scores_checkpoint'))", nativeQuery = true)
+    boolean tryLockForCheckpoint();
+
+    /**
+     * Merges one node's scores into the checkpoint. A review another node already saved keeps the
+     * higher of the two scores, the stored one decayed to {@code checkpointedAt} first.
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = SCORES_TABLE))
+    @Query(value = """
+            INSERT INTO trending_review_scores (review_id, pub_id, score, checkpointed_at)
+            SELECT review_id, pub_id, score, :checkpointedAt
+            FROM unnest(CAST(:reviewIds AS bigint[]), CAST(:pubIds AS bigint[]), CAST(:scores AS double precision[]))
+                AS merged (review_id, pub_id, score)
+            ON CONFLICT (review_id) DO UPDATE SET
+                score = GREATEST(EXCLUDED.score, trending_review_scores.score * power(2,
+                        EXTRACT(EPOCH FROM trending_review_scores.checkpointed_at - EXCLUDED.checkpointed_at)
+                        * 1000 / :halfLifeMillis)),
+                checkpointed_at = EXCLUDED.checkpointed_at
+            """, nativeQuery = true)
+    int merge(Long[] reviewIds, Long[] pubIds, Double[] scores, LocalDateTime checkpointedAt, double halfLifeMillis);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = SCORES_TABLE))
+    @Query(value = "DELETE FROM trending_review_scores WHERE checkpointed_at < :staleBefore", nativeQuery = true)
+    int deleteCheckpointedBefore(LocalDateTime staleBefore);
+}
@@ -7,6 +7,7 @@ import com.karam.pubfinder.dto.RegisterRequest;
 import com.karam.pubfinder.entity.User;
 import com.karam.pubfinder.repository.UserRepository;
 import com.karam.pubfinder.utils.JwtUtil;
+import io.jsonwebtoken.Claims;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
@@ -19,6 +20,7 @@ public class AuthService {
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
     private final JwtUtil jwtUtil;
+    private final TokenRevocationService tokenRevocationService;
 
     @Transactional
     public AuthResponse register(RegisterRequest request) {
@@ -66,4 +68,18 @@ public class AuthService {
                 .username(user.getUsername())
                 .build();
     }
+
+    public void logout(String token) {
+        Claims claims = jwtUtil.parseClaims(token);
+        if (claims == null) {
+            throw new RuntimeException("Invalid token");
+        }
+
+        // Tokens issued before revocation support carry no id and simply run until expiry
+        if (claims.getId() == null) {
+            throw new RuntimeException("Token cannot be revoked");
+        }
+
+        tokenRevocationService.revoke(claims.getId(), claims.getExpiration());
+    }
 }
\ No newline at end of file
@@ -0,0 +1,69 @@
+package com.karam.pubfinder.service;
+
+import com.karam.pubfinder.entity.Pub;
+import com.karam.pubfinder.event.PubRatingChangedEvent;
+import com.karam.pubfinder.event.ReviewChangedEvent;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Keeps the node-local pub caches (the Hibernate second-level and query caches and the
+ * pre-serialized catalog) in step with pub writes committed on other nodes.
+ * <p>
+ * Pubs are the only cached entity that changes; users are never updated once registered.
+ * Each committed rating or star count change is announced on the cluster bus, and every other
+ * node evicts that pub, all cached query results and the catalog. After a listener reconnect,
+ * which may have lost announcements, every cached pub is evicted.
+ */
+@Component
+public class ClusterCacheInvalidator {
+
+    private static final String PUB_CHANGED_CHANNEL = "pubfinder_pub_changed";
+
+    private final ClusterEventBus clusterEventBus;
+    private final EntityManagerFactory entityManagerFactory;
+    private final PubCatalogCache pubCatalogCache;
+
+    public ClusterCacheInvalidator(ClusterEventBus clusterEventBus,
+                                   EntityManagerFactory entityManagerFactory,
+                                   PubCatalogCache pubCatalogCache) {
+        this.clusterEventBus = clusterEventBus;
+        this.entityManagerFactory = entityManagerFactory;
+        this.pubCatalogCache = pubCatalogCache;
+        clusterEventBus.subscribe(PUB_CHANGED_CHANNEL, this::evictPub, this::evictAllPubs);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPubRatingChanged(PubRatingChangedEvent event) {
+        clusterEventBus.publish(PUB_CHANGED_CHANNEL, event.pubId().toString());
+    }
+
+    // Star counts are part of the cached catalog
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onReviewChanged(ReviewChangedEvent event) {
+        if (event.rateChanged()) {
+            clusterEventBus.publish(PUB_CHANGED_CHANNEL, event.pubId().toString());
+        }
+    }
+
+    private void evictPub(String pubId) {
+        Cache cache = secondLevelCache();
+        cache.evictEntityData(Pub.class, Long.valueOf(pubId));
+        cache.evictDefaultQueryRegion();
+        pubCatalogCache.invalidate();
+    }
+
+    private void evictAllPubs() {
+        Cache cache = secondLevelCache();
+        cache.evictEntityData(Pub.class);
+        cache.evictDefaultQueryRegion();
+        pubCatalogCache.invalidate();
+    }
+
+    private Cache secondLevelCache() {
+        return entityManagerFactory.unwrap(SessionFactory.class).getCache();
+    }
+}
@@ -0,0 +1,169 @@
+package com.karam.pubfinder.service;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+
+/**
+ * Passes short messages between the nodes of a deployment over Postgres LISTEN/NOTIFY, so
+ * node-local caches and streams hear about writes committed on other nodes.
+ * <p>
+ * Messages are sent off the caller's thread and are not delivered back to the node that sent
+ * them. Delivery is at most once: while the listening connection is down, messages are lost.
+ * Every subscriber therefore also gets a resync callback after each reconnect, and should
+ * drop whatever it could have missed.
+ */
+@Slf4j
+@Component
+public class ClusterEventBus implements SmartInitializingSingleton {
+
+    private static final int POLL_MILLIS = 1000;
+    private static final long RECONNECT_DELAY_MILLIS = 5000;
+
+    private record Subscription(Consumer<String> onMessage, Runnable onResync) {
+    }
+
+    private final DataSource dataSource;
+    private final String url;
+    private final String username;
+    private final String password;
+
+    private final String nodeId = UUID.randomUUID().toString();
+    private final Map<String, Subscription> subscriptions = new ConcurrentHashMap<>();
+    // One thread, so messages leave in the order they were published
+    private final ExecutorService sender =
+            Executors.newSingleThreadExecutor(Thread.ofVirtual().name("cluster-events-send").factory());
+
+    private volatile boolean running;
+    private volatile Thread listener;
+
+    public ClusterEventBus(DataSource dataSource,
+                           @Value("${spring.datasource.url}") String url,
+                           @Value("${spring.datasource.username}") String username,
+                           @Value("${spring.datasource.password}") String password) {
+        this.dataSource = dataSource;
+        this.url = url;
+        this.username = username;
+        this.password = password;
+    }
+
+    /**
+     * Registers the handlers for a channel. Must be called while the context starts up, e.g. from
+     * a constructor; channels are listened to from then on. Channel names are plain lower-case
+     * identifiers.
+     */
+    public void subscribe(String channel, Consumer<String> onMessage, Runnable onResync) {
+        if (listener != null) {
+            throw new IllegalStateException("Subscribe to " + channel + " before the context has started");
+        }
+        subscriptions.put(channel, new Subscription(onMessage, onResync));
+    }
+
+    public void publish(String channel, String message) {
+        sender.execute(() -> {
+            try (Connection connection = dataSource.getConnection();
+                 PreparedStatement notify = connection.prepareStatement("SELECT pg_notify(?, ?)")) {
+                notify.setString(1, channel);
+                notify.setString(2, nodeId + " " + message);
+                notify.execute();
+            } catch (SQLException e) {
+                log.warn("Could not publish to {}; other nodes will not see it", channel, e);
+            }
+        });
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        running = true;
+        listener = Thread.ofVirtual().name("cluster-events-listen").start(this::listen);
+    }
+
+    // Its own connection, outside the pool: it is held for the node's lifetime
+    private void listen() {
+        boolean reconnecting = false;
+        while (running) {
+            try (Connection connection = DriverManager.getConnection(url, username, password)) {
+                try (Statement statement = connection.createStatement()) {
+                    for (String channel : subscriptions.keySet()) {
+                        statement.execute("LISTEN " + channel);
+                    }
+                }
+                if (reconnecting) {
+                    subscriptions.values().forEach(subscription -> run(subscription.onResync()));
+                }
+                reconnecting = true;
+
+                PGConnection notifications = connection.unwrap(PGConnection.class);
+                while (running) {
+                    PGNotification[] received = notifications.getNotifications(POLL_MILLIS);
+                    if (received != null) {
+                        for (PGNotification notification : received) {
+                            deliver(notification.getName(), notification.getParameter());
+                        }
+                    }
+                }
+            } catch (SQLException e) {
+                if (running) {
+                    log.warn("Cluster event listener lost its connection, reconnecting", e);
+                    reconnecting = true;
+                    pause();
+                }
+            }
+        }
+    }
+
+    private void deliver(String channel, String payload) {
+        Subscription subscription = subscriptions.get(channel);
+        int separator = payload.indexOf(' ');
+        if (subscription == null || separator < 0 || payload.substring(0, separator).equals(nodeId)) {
+            return;
+        }
+        String message = payload.substring(separator + 1);
+        run(() -> subscription.onMessage().accept(message));
+    }
+
+    // A failing subscriber must not take the listener down with it
+    private static void run(Runnable handler) {
+        try {
+            handler.run();
+        } catch (RuntimeException e) {
+            log.warn("Cluster event handler failed", e);
+        }
+    }
+
+    private void pause() {
+        try {
+            Thread.sleep(RECONNECT_DELAY_MILLIS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            running = false;
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        running = false;
+        Thread current = listener;
+        if (current != null) {
+            current.interrupt();
+        }
+        sender.shutdown();
+    }
+}
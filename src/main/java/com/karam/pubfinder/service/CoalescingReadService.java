@@ -0,0 +1,114 @@
+package com.karam.pubfinder.service;
+
+import com.karam.pubfinder.config.ReadYourWritesTracker;
+import com.karam.pubfinder.dto.PubResponse;
+import com.karam.pubfinder.dto.ReviewResponse;
+import com.karam.pubfinder.repository.ReviewLikeRepository;
+import com.karam.pubfinder.service.ReadSnapshotStore.Read;
+import com.karam.pubfinder.utils.DegradedReads;
+import com.karam.pubfinder.utils.SingleFlight;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Supplier;
+
+/**
+ * Collapses identical concurrent reads of a pub and of a pub's reviews into one load.
+ * <p>
+ * Sits above the transactional services, so callers waiting on someone else's load do not
+ * hold a connection. Review lists are loaded without a current user and shared; each caller's
+ * {@code isLikedByCurrentUser} flags are overlaid afterwards with a query bounded by the page.
+ * <p>
+ * Loads go through {@link ReadSnapshotStore}, so these reads keep working from the last known
+ * good data while the database is unavailable.
+ * <p>
+ * A shared load runs on the first caller's thread, with that caller's transaction routing, and
+ * may have started before another caller's write committed. Callers inside their
+ * read-your-writes window therefore never join one; they load on their own, from the primary.
+ */
+@Service
+public class CoalescingReadService {
+
+    private final PubService pubService;
+    private final ReviewService reviewService;
+    private final ReviewLikeRepository reviewLikeRepository;
+    private final ReadSnapshotStore readSnapshotStore;
+    private final ReadYourWritesTracker readYourWritesTracker;
+
+    private final SingleFlight<Long, Read<PubResponse>> pubLoads = new SingleFlight<>();
+    private final SingleFlight<Long, Read<List<ReviewResponse>>> pubReviewLoads = new SingleFlight<>();
+
+    public CoalescingReadService(PubService pubService, ReviewService reviewService,
+                                 ReviewLikeRepository reviewLikeRepository, ReadSnapshotStore readSnapshotStore,
+                                 ReadYourWritesTracker readYourWritesTracker, MeterRegistry meterRegistry) {
+        this.pubService = pubService;
+        this.reviewService = reviewService;
+        this.reviewLikeRepository = reviewLikeRepository;
+        this.readSnapshotStore = readSnapshotStore;
+        this.readYourWritesTracker = readYourWritesTracker;
+
+        // Coalescing ratio = shared / (loads + shared)
+        registerMetrics(meterRegistry, "pub", pubLoads);
+        registerMetrics(meterRegistry, "pub-reviews", pubReviewLoads);
+    }
+
+    public PubResponse getPubById(Long id) {
+        // Every caller sharing a stale result gets the staleness header, not just the loader
+        return coalesce(pubLoads, id, () -> readSnapshotStore.read("pub:" + id, () -> pubService.getPubById(id)))
+                .markIfStale();
+    }
+
+    public List<ReviewResponse> getReviewsByPubId(Long pubId, Long currentUserId) {
+        Read<List<ReviewResponse>> read = coalesce(pubReviewLoads, pubId,
+                () -> readSnapshotStore.read("pub-reviews:" + pubId, () -> reviewService.getReviewsByPubId(pubId, null)));
+        List<ReviewResponse> reviews = read.markIfStale();
+
+        if (currentUserId == null || reviews.isEmpty() || read.isStale()) {
+            return reviews;
+        }
+
+        List<Long> reviewIds = reviews.stream().map(ReviewResponse::getId).toList();
+        Set<Long> likedReviewIds;
+        try {
+            likedReviewIds = reviewLikeRepository.findLikedReviewIdsByUserIdAndReviewIdIn(currentUserId, reviewIds);
+        } catch (RuntimeException e) {
+            if (!DegradedReads.isDatabaseUnavailable(e)) {
+                throw e;
+            }
+            // Lost the database between the two queries: serve the reviews without liked flags
+            DegradedReads.markStale(System.currentTimeMillis());
+            return reviews;
+        }
+        if (likedReviewIds.isEmpty()) {
+            return reviews;
+        }
+
+        // Copy only the reviews this user liked; the shared list itself is never modified
+        List<ReviewResponse> personalised = new ArrayList<>(reviews.size());
+        for (ReviewResponse review : reviews) {
+            personalised.add(likedReviewIds.contains(review.getId())
+                    ? review.toBuilder().isLikedByCurrentUser(true).build()
+                    : review);
+        }
+        return personalised;
+    }
+
+    private <K, V> V coalesce(SingleFlight<K, V> flight, K key, Supplier<V> load) {
+        return readYourWritesTracker.isCurrentCallerSticky() ? load.get() : flight.execute(key, load);
+    }
+
+    private static void registerMetrics(MeterRegistry registry, String read, SingleFlight<?, ?> flight) {
+        FunctionCounter.builder("reads.coalescing.loads", flight, SingleFlight::getLoads)
+                .description("Reads that went to the database")
+                .tag("read", read)
+                .register(registry);
+        FunctionCounter.builder("reads.coalescing.shared", flight, SingleFlight::getSharedResults)
+                .description("Reads served by joining an identical in-flight load")
+                .tag("read", read)
+                .register(registry);
+    }
+}
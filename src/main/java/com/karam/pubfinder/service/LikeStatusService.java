@@ -0,0 +1,85 @@
+package com.karam.pubfinder.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.karam.pubfinder.event.ReviewLikeChangedEvent;
+import com.karam.pubfinder.repository.ReviewLikeRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Answers "which of these reviews has this user liked?" for clients that already hold the
+ * review content.
+ * <p>
+ * Flags are cached per (user, review). Only the ids missing from the cache go to the database,
+ * in one query on the {@code (user_id, review_id)} index. A like or unlike committed on this
+ * node evicts its entry; the TTL bounds how long changes made on other nodes go unseen.
+ */
+@Service
+public class LikeStatusService {
+
+    private record Key(long userId, long reviewId) {
+    }
+
+    private final ReviewLikeRepository reviewLikeRepository;
+    private final Cache<Key, Boolean> likedFlags;
+
+    public LikeStatusService(ReviewLikeRepository reviewLikeRepository,
+                             @Value("${review-likes.status-cache.ttl-ms}") long ttlMillis,
+                             @Value("${review-likes.status-cache.max-entries}") long maxEntries) {
+        this.reviewLikeRepository = reviewLikeRepository;
+        this.likedFlags = Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .expireAfterWrite(Duration.ofMillis(ttlMillis))
+                .build();
+    }
+
+    /**
+     * The subset of {@code reviewIds} the user has liked, in request order.
+     */
+    public List<Long> getLikedReviewIds(Long userId, Collection<Long> reviewIds) {
+        Set<Long> requested = new LinkedHashSet<>(reviewIds);
+        requested.remove(null);
+
+        List<Key> keys = new ArrayList<>(requested.size());
+        for (Long reviewId : requested) {
+            keys.add(new Key(userId, reviewId));
+        }
+        Map<Key, Boolean> cached = likedFlags.getAllPresent(keys);
+
+        List<Long> missing = keys.stream()
+                .filter(key -> !cached.containsKey(key))
+                .map(Key::reviewId)
+                .toList();
+        Set<Long> likedMissing = missing.isEmpty()
+                ? Set.of()
+                : reviewLikeRepository.findLikedReviewIdsByUserIdAndReviewIdIn(userId, missing);
+        for (Long reviewId : missing) {
+            likedFlags.put(new Key(userId, reviewId), likedMissing.contains(reviewId));
+        }
+
+        List<Long> liked = new ArrayList<>();
+        for (Key key : keys) {
+            Boolean flag = cached.get(key);
+            if (flag != null ? flag : likedMissing.contains(key.reviewId())) {
+                liked.add(key.reviewId());
+            }
+        }
+        return liked;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onReviewLikeChanged(ReviewLikeChangedEvent event) {
+        // A read that loaded just before the commit may put the old flag back; the TTL bounds that
+        likedFlags.invalidate(new Key(event.userId(), event.reviewId()));
+    }
+}
@@ -0,0 +1,91 @@
+package com.karam.pubfinder.service;
+
+import io.github.resilience4j.core.IntervalFunction;
+import io.github.resilience4j.retry.Retry;
+import io.github.resilience4j.retry.RetryConfig;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Re-runs a transactional write when it lost an optimistic-lock race, with exponential backoff
+ * and jitter between attempts. Must wrap the transactional call rather than run inside it, so
+ * every attempt starts a fresh transaction and re-reads the current row.
+ * <p>
+ * Per operation, {@code db.optimistic-lock.attempts} counts every try and
+ * {@code db.optimistic-lock.conflicts} every try that hit a version conflict; their ratio is the
+ * conflict rate. {@code db.optimistic-lock.exhausted} counts calls that still failed after the
+ * last attempt.
+ */
+@Component
+public class OptimisticLockRetrier {
+
+    private final RetryConfig config;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, Operation> operations = new ConcurrentHashMap<>();
+
+    public OptimisticLockRetrier(MeterRegistry meterRegistry,
+                                 @Value("${db.optimistic-lock.max-attempts}") int maxAttempts,
+                                 @Value("${db.optimistic-lock.initial-backoff-ms}") long initialBackoffMillis,
+                                 @Value("${db.optimistic-lock.backoff-multiplier}") double backoffMultiplier,
+                                 @Value("${db.optimistic-lock.jitter}") double jitter) {
+        this.meterRegistry = meterRegistry;
+        this.config = RetryConfig.custom()
+                .maxAttempts(maxAttempts)
+                .intervalFunction(IntervalFunction.ofExponentialRandomBackoff(
+                        Duration.ofMillis(initialBackoffMillis), backoffMultiplier, jitter))
+                .retryExceptions(OptimisticLockingFailureException.class)
+                .build();
+    }
+
+    private record Operation(Retry retry, Counter attempts) {
+    }
+
+    public <T> T execute(String operation, Supplier<T> action) {
+        Operation op = operations.computeIfAbsent(operation, this::register);
+        return op.retry().executeSupplier(() -> {
+            op.attempts().increment();
+            return action.get();
+        });
+    }
+
+    public void run(String operation, Runnable action) {
+        execute(operation, () -> {
+            action.run();
+            return null;
+        });
+    }
+
+    private Operation register(String operation) {
+        Retry retry = Retry.of(operation, config);
+        Counter attempts = Counter.builder("db.optimistic-lock.attempts")
+                .description("Tries of writes guarded by optimistic locking")
+                .tag("operation", operation)
+                .register(meterRegistry);
+        Counter conflicts = Counter.builder("db.optimistic-lock.conflicts")
+                .description("Tries that failed on a version conflict")
+                .tag("operation", operation)
+                .register(meterRegistry);
+        Counter exhausted = Counter.builder("db.optimistic-lock.exhausted")
+                .description("Writes that still conflicted after the last retry")
+                .tag("operation", operation)
+                .register(meterRegistry);
+
+        retry.getEventPublisher()
+                .onRetry(event -> conflicts.increment())
+                .onError(event -> {
+                    if (event.getLastThrowable() instanceof OptimisticLockingFailureException) {
+                        conflicts.increment();
+                        exhausted.increment();
+                    }
+                });
+        return new Operation(retry, attempts);
+    }
+}
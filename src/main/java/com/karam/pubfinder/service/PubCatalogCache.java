@@ -0,0 +1,175 @@
+package com.karam.pubfinder.service;
+
+import com.karam.pubfinder.dto.PubResponse;
+import com.karam.pubfinder.event.PubRatingChangedEvent;
+import com.karam.pubfinder.event.ReviewChangedEvent;
+import com.karam.pubfinder.utils.DegradedReads;
+import com.karam.pubfinder.utils.SingleFlight;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import tools.jackson.databind.json.JsonMapper;
+import tools.jackson.dataformat.cbor.CBORMapper;
+import tools.jackson.dataformat.smile.SmileMapper;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Keeps the {@code GET /pubs} body for each sort order as ready-to-send JSON bytes, plus a gzip
+ * copy and the CBOR and Smile encodings, so the hot path is a map lookup and a buffer write.
+ * <p>
+ * Everything is dropped when a pub rating or star count changes, and concurrent misses share a
+ * single rebuild. Entries also expire after a TTL, which bounds staleness if a rebuild happened
+ * to read from a lagging replica. The last successful build of each variant is kept regardless
+ * and served, flagged as stale, while the database is unavailable.
+ */
+@Component
+public class PubCatalogCache {
+
+    private final PubService pubService;
+    private final JsonMapper jsonMapper;
+    // Same defaults as the CBOR and Smile message converters
+    private final CBORMapper cborMapper = CBORMapper.builder().build();
+    private final SmileMapper smileMapper = SmileMapper.builder().build();
+    private final long ttlMillis;
+
+    private final Map<String, CatalogPayload> payloads = new ConcurrentHashMap<>();
+    private final Map<String, CatalogPayload> lastGood = new ConcurrentHashMap<>();
+    private final SingleFlight<BuildKey, CatalogPayload> rebuilds = new SingleFlight<>();
+    private long generation;
+
+    private record BuildKey(String sortBy, long generation) {
+    }
+
+    public PubCatalogCache(PubService pubService, JsonMapper jsonMapper,
+                           @Value("${pub-catalog.cache.ttl-ms}") long ttlMillis) {
+        this.pubService = pubService;
+        this.jsonMapper = jsonMapper;
+        this.ttlMillis = ttlMillis;
+    }
+
+    /**
+     * Pre-serialized bodies for one sort order: JSON, its gzip, CBOR and Smile, each with an ETag
+     * hashed from its own bytes. The arrays are shared and must not be modified.
+     */
+    public record CatalogPayload(byte[] json, byte[] gzip, String etag,
+                                 byte[] cbor, String cborEtag,
+                                 byte[] smile, String smileEtag,
+                                 long builtAtMillis) {
+
+        // Different bytes on the wire, so a strong validator of its own
+        public String gzipEtag() {
+            return etag.substring(0, etag.length() - 1) + "-gzip\"";
+        }
+    }
+
+    public CatalogPayload get(String sortBy) {
+        String key = normalize(sortBy);
+        CatalogPayload cached = payloads.get(key);
+        if (cached != null && System.currentTimeMillis() - cached.builtAtMillis() < ttlMillis) {
+            return cached;
+        }
+
+        long startedAt;
+        synchronized (this) {
+            startedAt = generation;
+        }
+
+        try {
+            // Concurrent misses share one build; one begun before the last invalidation is not joined
+            return rebuilds.execute(new BuildKey(key, startedAt), () -> buildAndStore(key, startedAt));
+        } catch (RuntimeException e) {
+            CatalogPayload fallback = DegradedReads.isDatabaseUnavailable(e) ? lastGood.get(key) : null;
+            if (fallback == null) {
+                throw e;
+            }
+            DegradedReads.markStale(fallback.builtAtMillis());
+            return fallback;
+        }
+    }
+
+    private CatalogPayload buildAndStore(String key, long startedAt) {
+        CatalogPayload built = build(key);
+        lastGood.put(key, built);
+
+        synchronized (this) {
+            // A rating changed while we were building: serve what we have but do not cache it
+            if (generation == startedAt) {
+                payloads.put(key, built);
+            }
+        }
+        return built;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPubRatingChanged(PubRatingChangedEvent event) {
+        invalidate();
+    }
+
+    // The star counts in the listing move as soon as the review commits, even if the rating does not
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onReviewChanged(ReviewChangedEvent event) {
+        if (event.rateChanged()) {
+            invalidate();
+        }
+    }
+
+    public synchronized void invalidate() {
+        generation++;
+        payloads.clear();
+    }
+
+    private CatalogPayload build(String sortBy) {
+        List<PubResponse> pubs = pubService.getAllPubs(sortBy);
+        byte[] json = jsonMapper.writeValueAsBytes(pubs);
+        byte[] cbor = cborMapper.writeValueAsBytes(pubs);
+        byte[] smile = smileMapper.writeValueAsBytes(pubs);
+
+        return new CatalogPayload(json, gzip(json), etag(json),
+                cbor, etag(cbor), smile, etag(smile), System.currentTimeMillis());
+    }
+
+    // Derived from the bytes sent, so every node agrees on it and different bodies never share one
+    private static String etag(byte[] body) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(body);
+            return "\"" + HexFormat.of().formatHex(digest, 0, 16) + "\"";
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is always available", e);
+        }
+    }
+
+    private static byte[] gzip(byte[] data) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(data.length / 4 + 64);
+        // Built rarely and served many times, so spend the CPU on the best ratio
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out) {
+            {
+                def.setLevel(Deflater.BEST_COMPRESSION);
+            }
+        }) {
+            gzip.write(data);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+
+    private static String normalize(String sortBy) {
+        if (sortBy == null) {
+            return "";
+        }
+        String lower = sortBy.toLowerCase(Locale.ROOT);
+        return ("asc".equals(lower) || "desc".equals(lower)) ? lower : "";
+    }
+}
@@ -0,0 +1,113 @@
+package com.karam.pubfinder.service;
+
+import com.karam.pubfinder.dto.PubDetailsResponse;
+import com.karam.pubfinder.dto.PubResponse;
+import com.karam.pubfinder.dto.ReviewResponse;
+import com.karam.pubfinder.utils.SqlStatementStats;
+import jakarta.annotation.PreDestroy;
+import org.springframework.data.domain.Slice;
+import org.springframework.security.concurrent.DelegatingSecurityContextExecutorService;
+import org.springframework.stereotype.Service;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Everything the pub screen needs in one call. The pub (with its rating histogram) and the
+ * first review page are independent, so each is read on its own virtual thread, connection and
+ * read-only transaction; latency is the slower of the two rather than their sum.
+ * <p>
+ * Each task runs as part of the caller's request: its statements count towards the request's
+ * SQL stats, and a read served from a snapshot marks the request's response as stale.
+ */
+@Service
+public class PubDetailsService {
+
+    private final PubService pubService;
+    private final ReviewService reviewService;
+
+    // Carries the caller's security context, so read-your-writes routing still sees the user
+    private final ExecutorService executor =
+            new DelegatingSecurityContextExecutorService(Executors.newVirtualThreadPerTaskExecutor());
+
+    public PubDetailsService(PubService pubService, ReviewService reviewService) {
+        this.pubService = pubService;
+        this.reviewService = reviewService;
+    }
+
+    public PubDetailsResponse getPubDetails(Long pubId, int page, int size, Long currentUserId) {
+        Future<PubResponse> pub = submit(() -> pubService.getPubById(pubId));
+        Future<Slice<ReviewResponse>> reviews =
+                submit(() -> reviewService.getReviewPageByPubId(pubId, page, size, currentUserId));
+
+        // Pub first, so an unknown id fails with "Pub not found" rather than an empty page
+        PubResponse pubResponse;
+        try {
+            pubResponse = await(pub);
+        } catch (RuntimeException e) {
+            // The reviews task shares this request's response; it must not outlive the request
+            awaitQuietly(reviews);
+            throw e;
+        }
+        Slice<ReviewResponse> reviewPage = await(reviews);
+
+        return PubDetailsResponse.builder()
+                .pub(pubResponse)
+                .reviews(reviewPage.getContent())
+                .page(page)
+                .size(size)
+                .hasMore(reviewPage.hasNext())
+                .build();
+    }
+
+    // The security context travels with the executor; the request and its SQL tally are carried here
+    private <T> Future<T> submit(Callable<T> task) {
+        RequestAttributes request = RequestContextHolder.getRequestAttributes();
+        SqlStatementStats stats = SqlStatementStats.current();
+        return executor.submit(() -> {
+            RequestContextHolder.setRequestAttributes(request);
+            SqlStatementStats.bind(stats);
+            try {
+                return task.call();
+            } finally {
+                SqlStatementStats.clear();
+                RequestContextHolder.resetRequestAttributes();
+            }
+        });
+    }
+
+    private static void awaitQuietly(Future<?> future) {
+        try {
+            future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException ignored) {
+            // The first failure is the one reported
+        }
+    }
+
+    private static <T> T await(Future<T> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while loading pub details", e);
+        } catch (ExecutionException e) {
+            // Surface the original failure so the usual error handling applies
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new RuntimeException(e.getCause());
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdown();
+    }
+}
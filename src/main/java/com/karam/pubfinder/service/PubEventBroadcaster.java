@@ -0,0 +1,236 @@
+package com.karam.pubfinder.service;
+
+import com.karam.pubfinder.event.PubRatingChangedEvent;
+import com.karam.pubfinder.event.ReviewChangedEvent;
+import com.karam.pubfinder.event.ReviewLikeChangedEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter.SseEventBuilder;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Pushes committed review and rating changes to clients watching a pub over Server-Sent Events.
+ * <p>
+ * The request thread is released as soon as a stream is opened; the servlet container keeps the
+ * connection asynchronously. Each subscriber has a bounded buffer drained by its own virtual
+ * thread, so one slow client never holds up the others or the committing transaction. A
+ * subscriber whose buffer fills up is disconnected; its EventSource reconnects and reloads.
+ * Heartbeats keep proxies from closing idle streams and reveal clients that went away.
+ * <p>
+ * Streams are held by whichever node the client connected to, so every event is also sent over
+ * the {@link ClusterEventBus} and replayed to the subscribers of the other nodes. The bus can
+ * lose messages while a node's listener reconnects; that node then closes all its streams, and
+ * clients reconnect and reload rather than silently miss a change.
+ */
+@Slf4j
+@Component
+public class PubEventBroadcaster {
+
+    private static final String PUB_EVENTS_CHANNEL = "pubfinder_pub_events";
+
+    private final Map<Long, Set<Subscriber>> subscribersByPub = new ConcurrentHashMap<>();
+    private final AtomicInteger subscriberCount = new AtomicInteger();
+
+    private final long streamTimeoutMillis;
+    private final int bufferSize;
+    private final int maxSubscribers;
+    private final Counter droppedSlowSubscribers;
+    private final ClusterEventBus clusterEventBus;
+    private final JsonMapper jsonMapper;
+
+    public PubEventBroadcaster(ClusterEventBus clusterEventBus, JsonMapper jsonMapper,
+                               @Value("${pub-events.stream-timeout-ms}") long streamTimeoutMillis,
+                               @Value("${pub-events.buffer-size}") int bufferSize,
+                               @Value("${pub-events.max-subscribers}") int maxSubscribers,
+                               MeterRegistry meterRegistry) {
+        this.streamTimeoutMillis = streamTimeoutMillis;
+        this.bufferSize = bufferSize;
+        this.maxSubscribers = maxSubscribers;
+        this.clusterEventBus = clusterEventBus;
+        this.jsonMapper = jsonMapper;
+
+        Gauge.builder("pub-events.subscribers", subscriberCount, AtomicInteger::get)
+                .description("Open pub event streams on this node")
+                .register(meterRegistry);
+        this.droppedSlowSubscribers = Counter.builder("pub-events.dropped")
+                .description("Streams closed because the client could not keep up")
+                .register(meterRegistry);
+
+        clusterEventBus.subscribe(PUB_EVENTS_CHANNEL, this::onRemoteEvent, this::closeAll);
+    }
+
+    /**
+     * Opens a stream for one pub, or returns null when this node is already at its limit.
+     */
+    public SseEmitter subscribe(Long pubId) {
+        if (subscriberCount.incrementAndGet() > maxSubscribers) {
+            subscriberCount.decrementAndGet();
+            return null;
+        }
+
+        SseEmitter emitter = new SseEmitter(streamTimeoutMillis);
+        Subscriber subscriber = new Subscriber(pubId, emitter, new ArrayBlockingQueue<>(bufferSize));
+        // Add inside compute, so a concurrent close of the pub's last stream cannot orphan the set
+        subscribersByPub.compute(pubId, (id, subscribers) -> {
+            Set<Subscriber> set = (subscribers != null) ? subscribers : ConcurrentHashMap.newKeySet();
+            set.add(subscriber);
+            return set;
+        });
+
+        emitter.onCompletion(subscriber::close);
+        emitter.onTimeout(subscriber::close);
+        emitter.onError(error -> subscriber.close());
+
+        subscriber.drainer = Thread.ofVirtual().name("pub-events-" + pubId).start(subscriber::drain);
+        return emitter;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onReviewChanged(ReviewChangedEvent event) {
+        broadcast(event.pubId(), "review-" + event.type().name().toLowerCase(Locale.ROOT),
+                new ReviewPayload(event.reviewId()));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onReviewLikeChanged(ReviewLikeChangedEvent event) {
+        // Who liked is not broadcast, only the new count
+        broadcast(event.pubId(), "like-count", new LikeCountPayload(event.reviewId(), event.likeCount()));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPubRatingChanged(PubRatingChangedEvent event) {
+        broadcast(event.pubId(), "rating-changed", new RatingPayload(event.rating()));
+    }
+
+    @Scheduled(fixedDelayString = "${pub-events.heartbeat-interval-ms}")
+    public void sendHeartbeats() {
+        for (Set<Subscriber> subscribers : subscribersByPub.values()) {
+            for (Subscriber subscriber : subscribers) {
+                subscriber.offer(SseEmitter.event().comment("heartbeat"));
+            }
+        }
+    }
+
+    public int getSubscriberCount() {
+        return subscriberCount.get();
+    }
+
+    @PreDestroy
+    void closeAll() {
+        subscribersByPub.values().forEach(subscribers -> subscribers.forEach(subscriber -> {
+            subscriber.close();
+            subscriber.emitter.complete();
+        }));
+    }
+
+    // Serialized once, for the local subscribers and the other nodes alike
+    private void broadcast(Long pubId, String name, Object payload) {
+        String json = jsonMapper.writeValueAsString(payload);
+        sendToSubscribers(pubId, name, json);
+        clusterEventBus.publish(PUB_EVENTS_CHANNEL, pubId + " " + name + " " + json);
+    }
+
+    // "<pub id> <event name> <json>", as written by broadcast
+    private void onRemoteEvent(String message) {
+        String[] parts = message.split(" ", 3);
+        if (parts.length < 3) {
+            log.warn("Ignoring malformed pub event from another node: {}", message);
+            return;
+        }
+        sendToSubscribers(Long.valueOf(parts[0]), parts[1], parts[2]);
+    }
+
+    private void sendToSubscribers(Long pubId, String name, String json) {
+        Set<Subscriber> subscribers = subscribersByPub.get(pubId);
+        if (subscribers == null) {
+            return;
+        }
+        for (Subscriber subscriber : subscribers) {
+            // Builders are single-use, so every subscriber gets its own
+            subscriber.offer(SseEmitter.event().name(name).data(json, MediaType.APPLICATION_JSON));
+        }
+    }
+
+    private record ReviewPayload(Long reviewId) {
+    }
+
+    private record LikeCountPayload(Long reviewId, int likeCount) {
+    }
+
+    private record RatingPayload(BigDecimal rating) {
+    }
+
+    private final class Subscriber {
+
+        private final Long pubId;
+        private final SseEmitter emitter;
+        private final BlockingQueue<SseEventBuilder> buffer;
+        private final AtomicBoolean closed = new AtomicBoolean();
+        private volatile Thread drainer;
+
+        Subscriber(Long pubId, SseEmitter emitter, BlockingQueue<SseEventBuilder> buffer) {
+            this.pubId = pubId;
+            this.emitter = emitter;
+            this.buffer = buffer;
+        }
+
+        void offer(SseEventBuilder event) {
+            if (closed.get() || buffer.offer(event)) {
+                return;
+            }
+            droppedSlowSubscribers.increment();
+            log.debug("Dropping slow pub event subscriber for pub {}", pubId);
+            close();
+            emitter.complete();
+        }
+
+        void drain() {
+            try {
+                while (!closed.get()) {
+                    emitter.send(buffer.take());
+                }
+            } catch (InterruptedException e) {
+                // Closed while idle
+            } catch (IOException | IllegalStateException e) {
+                // Client went away, or the stream was completed under us
+                close();
+            }
+        }
+
+        void close() {
+            if (!closed.compareAndSet(false, true)) {
+                return;
+            }
+            subscriberCount.decrementAndGet();
+            subscribersByPub.computeIfPresent(pubId, (id, subscribers) -> {
+                subscribers.remove(this);
+                return subscribers.isEmpty() ? null : subscribers;
+            });
+            buffer.clear();
+            Thread thread = drainer;
+            if (thread != null && thread != Thread.currentThread()) {
+                thread.interrupt();
+            }
+        }
+    }
+}
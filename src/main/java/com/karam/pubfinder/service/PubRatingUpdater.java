@@ -0,0 +1,99 @@
+package com.karam.pubfinder.service;
+
+import com.karam.pubfinder.event.ReviewChangedEvent;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Recomputes pub ratings after review writes commit, off the request thread, so a review write
+ * never holds a lock on the {@code pubs} row.
+ * <p>
+ * Recomputes are coalesced and serialized per pub: however many reviews of one pub commit while
+ * a recompute is queued, it runs once. A write that commits while the recompute is running makes
+ * it run once more when done, so the final rating always reflects the last write. Ratings
+ * therefore trail review writes by a moment.
+ * <p>
+ * A recompute that still fails after the optimistic lock retries is queued again on the next
+ * retry pass, so a pub's rating is not left stale until its next review.
+ */
+@Slf4j
+@Component
+public class PubRatingUpdater {
+
+    private final ReviewService reviewService;
+    private final OptimisticLockRetrier optimisticLockRetrier;
+
+    private enum State { QUEUED, RUNNING, RUNNING_DIRTY }
+
+    // No entry means nothing queued or running for that pub
+    private final Map<Long, State> states = new ConcurrentHashMap<>();
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    // Pubs whose last recompute failed
+    private final Set<Long> failed = ConcurrentHashMap.newKeySet();
+
+    public PubRatingUpdater(ReviewService reviewService, OptimisticLockRetrier optimisticLockRetrier) {
+        this.reviewService = reviewService;
+        this.optimisticLockRetrier = optimisticLockRetrier;
+    }
+
+    @TransactionalEventListener
+    public void onReviewChanged(ReviewChangedEvent event) {
+        if (event.rateChanged()) {
+            schedule(event.pubId());
+        }
+    }
+
+    public void schedule(Long pubId) {
+        while (true) {
+            if (states.putIfAbsent(pubId, State.QUEUED) == null) {
+                executor.execute(() -> run(pubId));
+                return;
+            }
+            // Already queued, or running and now needs another pass; retry if it finished meanwhile
+            if (states.computeIfPresent(pubId, (id, state) -> state == State.RUNNING ? State.RUNNING_DIRTY : state) != null) {
+                return;
+            }
+        }
+    }
+
+    private void run(Long pubId) {
+        while (true) {
+            // Writes that committed before this point are seen by the recompute below
+            states.put(pubId, State.RUNNING);
+            try {
+                // Other nodes may be recomputing the same pub
+                optimisticLockRetrier.run("update-pub-rating", () -> reviewService.updatePubRating(pubId));
+                failed.remove(pubId);
+            } catch (RuntimeException e) {
+                log.warn("Could not recompute rating of pub {}, will retry", pubId, e);
+                failed.add(pubId);
+            }
+            if (states.computeIfPresent(pubId, (id, state) -> state == State.RUNNING ? null : state) == null) {
+                return;
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${pub-rating.retry-interval-ms}")
+    public void retryFailed() {
+        for (Long pubId : failed) {
+            if (failed.remove(pubId)) {
+                schedule(pubId);
+            }
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdown();
+    }
+}
@@ -2,19 +2,29 @@ package com.karam.pubfinder.service;
 
 import com.karam.pubfinder.dto.PubResponse;
 import com.karam.pubfinder.entity.Pub;
+import com.karam.pubfinder.entity.PubRatingStats;
+import com.karam.pubfinder.repository.DataBackfillRepository;
+import com.karam.pubfinder.repository.PubRatingStatsRepository;
 import com.karam.pubfinder.repository.PubRepository;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class PubService {
 
     private final PubRepository pubRepository;
+    private final PubRatingStatsRepository pubRatingStatsRepository;
+    private final DataBackfillRepository dataBackfillRepository;
 
     @Transactional(readOnly = true)
     public List<PubResponse> getAllPubs(String sortBy) {
@@ -28,8 +38,12 @@ public class PubService {
             pubs = pubRepository.findAll();
         }
 
+        // One extra query for the whole list, not one per pub
+        Map<Long, PubRatingStats> stats = pubRatingStatsRepository.findAll().stream()
+                .collect(Collectors.toMap(PubRatingStats::getPubId, Function.identity()));
+
         return pubs.stream()
-                .map(this::mapToResponse)
+                .map(pub -> mapToResponse(pub, stats.get(pub.getId())))
                 .collect(Collectors.toList());
     }
 
@@ -37,10 +51,54 @@ public class PubService {
     public PubResponse getPubById(Long id) {
         Pub pub = pubRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Pub not found with id: " + id));
-        return mapToResponse(pub);
+        return mapToResponse(pub, pubRatingStatsRepository.findById(id).orElse(null));
+    }
+
+    /**
+     * Pubs for the given ids in the order asked for; unknown ids are left out.
+     */
+    @Transactional(readOnly = true)
+    public List<PubResponse> getPubsByIds(List<Long> ids) {
+        Map<Long, Pub> pubs = pubRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(Pub::getId, Function.identity()));
+        Map<Long, PubRatingStats> stats = pubRatingStatsRepository.findAllById(pubs.keySet()).stream()
+                .collect(Collectors.toMap(PubRatingStats::getPubId, Function.identity()));
+
+        return ids.stream()
+                .filter(pubs::containsKey)
+                .map(id -> mapToResponse(pubs.get(id), stats.get(id)))
+                .collect(Collectors.toList());
+    }
+
+    @Transactional(readOnly = true)
+    public List<Long> getAllPubIds() {
+        return pubRepository.findAllIds();
     }
 
-    private PubResponse mapToResponse(Pub pub) {
+    /**
+     * Recounts one pub's stars from its reviews, replacing counts built from deltas. The pub's
+     * stats row stays locked for the recount, so review writes to this pub wait for it and none
+     * is lost; other pubs are not held up.
+     */
+    @Transactional
+    public void repairRatingStats(Long pubId) {
+        pubRatingStatsRepository.insertIfMissing(pubId);
+        pubRatingStatsRepository.lockByPubId(pubId);
+        pubRatingStatsRepository.recountFromReviews(pubId);
+    }
+
+    @Transactional(readOnly = true)
+    public boolean isBackfillCompleted(String name) {
+        return dataBackfillRepository.existsById(name);
+    }
+
+    @Transactional
+    public void markBackfillCompleted(String name) {
+        dataBackfillRepository.markCompleted(name);
+    }
+
+    private PubResponse mapToResponse(Pub pub, PubRatingStats stats) {
+        Map<Integer, Long> histogram = toHistogram(stats);
         return PubResponse.builder()
                 .id(pub.getId())
                 .title(pub.getTitle())
@@ -49,8 +107,22 @@ public class PubService {
                 .menuUrl(pub.getMenuUrl())
                 .imageUrl(pub.getImageUrl())
                 .rating(pub.getRating())
+                .ratingHistogram(histogram)
+                .reviewCount(histogram.values().stream().mapToLong(Long::longValue).sum())
                 .createdAt(pub.getCreatedAt())
                 .updatedAt(pub.getUpdatedAt())
                 .build();
     }
+
+    // Every star value is present, so clients can render the distribution without gaps
+    private static Map<Integer, Long> toHistogram(PubRatingStats stats) {
+        Map<Integer, Long> histogram = new LinkedHashMap<>();
+        histogram.put(0, stats == null ? 0L : stats.getStars0());
+        histogram.put(1, stats == null ? 0L : stats.getStars1());
+        histogram.put(2, stats == null ? 0L : stats.getStars2());
+        histogram.put(3, stats == null ? 0L : stats.getStars3());
+        histogram.put(4, stats == null ? 0L : stats.getStars4());
+        histogram.put(5, stats == null ? 0L : stats.getStars5());
+        return histogram;
+    }
 }
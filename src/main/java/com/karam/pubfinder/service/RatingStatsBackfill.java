@@ -0,0 +1,37 @@
+package com.karam.pubfinder.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Builds the rating stats of pubs reviewed before the stats table existed. Runs once per
+ * database: on completion it is recorded in {@code data_backfills}, and later starts skip it.
+ * <p>
+ * Each pub is recounted in its own short transaction through
+ * {@link PubService#repairRatingStats}, which is safe alongside live review writes. Nodes
+ * starting together may both run it; the recount is idempotent.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class RatingStatsBackfill implements SmartInitializingSingleton {
+
+    private static final String NAME = "pub_rating_stats";
+
+    private final PubService pubService;
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        if (pubService.isBackfillCompleted(NAME)) {
+            return;
+        }
+        List<Long> pubIds = pubService.getAllPubIds();
+        pubIds.forEach(pubService::repairRatingStats);
+        pubService.markBackfillCompleted(NAME);
+        log.info("Recounted rating stats for {} pubs", pubIds.size());
+    }
+}
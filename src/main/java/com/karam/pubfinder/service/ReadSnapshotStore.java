@@ -0,0 +1,98 @@
+package com.karam.pubfinder.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.karam.pubfinder.utils.DegradedReads;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Last-known-good copies of hot reads, used only while the database cannot be reached.
+ * <p>
+ * Every successful read refreshes its snapshot. When a read fails because the database is
+ * unavailable (including the circuit breaker being open) and a snapshot exists, the snapshot
+ * is returned flagged as stale. Once the breaker closes again, all snapshots are reloaded in
+ * the background.
+ */
+@Slf4j
+@Component
+public class ReadSnapshotStore {
+
+    private final Cache<String, Snapshot> snapshots;
+
+    public ReadSnapshotStore(CircuitBreaker databaseCircuitBreaker,
+                             @Value("${db.snapshots.max-entries}") int maxEntries) {
+        this.snapshots = Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .build();
+
+        databaseCircuitBreaker.getEventPublisher().onStateTransition(event -> {
+            if (event.getStateTransition().getToState() == CircuitBreaker.State.CLOSED) {
+                Thread.ofVirtual().name("read-snapshot-refresh").start(this::refreshAll);
+            }
+        });
+    }
+
+    /**
+     * Outcome of a read; {@code takenAtMillis} is set only when the value came from a snapshot.
+     */
+    public record Read<T>(T value, Long takenAtMillis) {
+
+        public boolean isStale() {
+            return takenAtMillis != null;
+        }
+
+        /**
+         * Adds the staleness header to the current response if this read was served from a snapshot.
+         */
+        public T markIfStale() {
+            if (takenAtMillis != null) {
+                DegradedReads.markStale(takenAtMillis);
+            }
+            return value;
+        }
+    }
+
+    private record Snapshot(Object value, long takenAtMillis, Supplier<?> loader) {
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> Read<T> read(String key, Supplier<T> loader) {
+        try {
+            T value = loader.get();
+            snapshots.put(key, new Snapshot(value, System.currentTimeMillis(), loader));
+            return new Read<>(value, null);
+        } catch (RuntimeException e) {
+            Snapshot snapshot = DegradedReads.isDatabaseUnavailable(e) ? snapshots.getIfPresent(key) : null;
+            if (snapshot == null) {
+                throw e;
+            }
+            log.debug("Database unavailable, serving snapshot of {}", key);
+            return new Read<>((T) snapshot.value(), snapshot.takenAtMillis());
+        }
+    }
+
+    void refreshAll() {
+        int refreshed = 0;
+        for (Map.Entry<String, Snapshot> entry : snapshots.asMap().entrySet()) {
+            Snapshot snapshot = entry.getValue();
+            try {
+                snapshots.put(entry.getKey(), new Snapshot(snapshot.loader().get(), System.currentTimeMillis(), snapshot.loader()));
+                refreshed++;
+            } catch (RuntimeException e) {
+                if (DegradedReads.isDatabaseUnavailable(e)) {
+                    log.warn("Database unavailable again, stopping snapshot refresh after {} entries", refreshed);
+                    return;
+                }
+                // Gone or no longer readable (e.g. the pub was deleted)
+                snapshots.invalidate(entry.getKey());
+            }
+        }
+        log.info("Refreshed {} read snapshots after the database recovered", refreshed);
+    }
+}
@@ -0,0 +1,232 @@
+package com.karam.pubfinder.service;
+
+import com.karam.pubfinder.repository.ReviewLikeRepository;
+import com.karam.pubfinder.repository.ReviewRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Physically removes reviews that {@code DELETE /reviews/{id}} only marked as deleted.
+ * <p>
+ * Likes go first, a small batch per transaction with a pause in between, then the row itself.
+ * Before every batch the purger checks this node's connection pools and backs off until the next
+ * run unless they are nearly idle, so purging soaks up quiet periods instead of competing with
+ * requests. Purges are idempotent, so nodes running them at the same time only duplicate work.
+ */
+@Slf4j
+@Component
+public class ReviewPurger {
+
+    // Covers only the handful of rows awaiting purge, so live reviews pay nothing for it
+    private static final String CREATE_PENDING_PURGE_INDEX = """
+            CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_reviews_pending_purge ON reviews (deleted_at)
+            WHERE deleted_at IS NOT NULL
+            """;
+    // No row when the index does not exist; false while it is being built, or after a failed build
+    private static final String PENDING_PURGE_INDEX_VALID =
+            "SELECT indisvalid FROM pg_index WHERE indexrelid = to_regclass('idx_reviews_pending_purge')";
+    private static final String DROP_PENDING_PURGE_INDEX =
+            "DROP INDEX CONCURRENTLY IF EXISTS idx_reviews_pending_purge";
+    // Session-level, one node at a time: an invalid index seen while holding it is never a build in progress
+    private static final String TRY_LOCK_PENDING_PURGE_INDEX =
+            "SELECT pg_try_advisory_lock(hashtext('idx_reviews_pending_purge'))";
+    private static final String UNLOCK_PENDING_PURGE_INDEX =
+            "SELECT pg_advisory_unlock(hashtext('idx_reviews_pending_purge'))";
+
+    private final ReviewRepository reviewRepository;
+    private final ReviewLikeRepository reviewLikeRepository;
+    private final MeterRegistry meterRegistry;
+    private final DataSource dataSource;
+
+    private final int reviewsPerRun;
+    private final int batchSize;
+    private final long batchPauseMillis;
+    private final int maxActiveConnections;
+
+    private final Counter purgedReviews;
+    private final Counter purgedLikes;
+
+    // Off the shared scheduler thread, which would otherwise sleep through heartbeats and syncs
+    private final ExecutorService executor =
+            Executors.newSingleThreadExecutor(Thread.ofVirtual().name("review-purger").factory());
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    public ReviewPurger(ReviewRepository reviewRepository,
+                        ReviewLikeRepository reviewLikeRepository,
+                        MeterRegistry meterRegistry,
+                        DataSource dataSource,
+                        @Value("${reviews.purge.reviews-per-run}") int reviewsPerRun,
+                        @Value("${reviews.purge.batch-size}") int batchSize,
+                        @Value("${reviews.purge.batch-pause-ms}") long batchPauseMillis,
+                        @Value("${reviews.purge.max-active-connections}") int maxActiveConnections) {
+        this.reviewRepository = reviewRepository;
+        this.reviewLikeRepository = reviewLikeRepository;
+        this.meterRegistry = meterRegistry;
+        this.dataSource = dataSource;
+        this.reviewsPerRun = reviewsPerRun;
+        this.batchSize = batchSize;
+        this.batchPauseMillis = batchPauseMillis;
+        this.maxActiveConnections = maxActiveConnections;
+
+        this.purgedReviews = Counter.builder("reviews.purged")
+                .description("Soft-deleted reviews removed from the database")
+                .register(meterRegistry);
+        this.purgedLikes = Counter.builder("review-likes.purged")
+                .description("Likes of soft-deleted reviews removed from the database")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Builds the index without blocking writes to {@code reviews}. CONCURRENTLY refuses to run in
+     * a transaction, so this takes its own autocommit connection, and it runs on the purger's
+     * thread because it scans the whole table.
+     * <p>
+     * A concurrent build that fails, or whose node dies, leaves an INVALID index behind: unused
+     * by queries, still maintained on every write, and skipped by {@code IF NOT EXISTS}. Such an
+     * index is dropped and built again, here on the next start if not right away.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void createPendingPurgeIndex() {
+        executor.execute(() -> {
+            try (Connection connection = dataSource.getConnection();
+                 Statement statement = connection.createStatement()) {
+                connection.setAutoCommit(true);
+                if (!queryBoolean(statement, TRY_LOCK_PENDING_PURGE_INDEX)) {
+                    // Another node is checking or building it
+                    return;
+                }
+                try {
+                    buildPendingPurgeIndex(statement);
+                } finally {
+                    // The connection goes back to the pool, so the session lock must not go with it
+                    statement.execute(UNLOCK_PENDING_PURGE_INDEX);
+                }
+            } catch (SQLException e) {
+                log.error("Could not create the pending purge index; purges will scan reviews until it exists", e);
+            }
+        });
+    }
+
+    private void buildPendingPurgeIndex(Statement statement) throws SQLException {
+        Boolean valid;
+        try (ResultSet result = statement.executeQuery(PENDING_PURGE_INDEX_VALID)) {
+            valid = result.next() ? result.getBoolean(1) : null;
+        }
+        if (Boolean.TRUE.equals(valid)) {
+            return;
+        }
+        if (valid != null) {
+            log.warn("Dropping the invalid pending purge index left by an interrupted build, then rebuilding it");
+            statement.execute(DROP_PENDING_PURGE_INDEX);
+        }
+        try {
+            statement.execute(CREATE_PENDING_PURGE_INDEX);
+        } catch (SQLException e) {
+            try {
+                statement.execute(DROP_PENDING_PURGE_INDEX);
+            } catch (SQLException dropFailure) {
+                e.addSuppressed(dropFailure);
+            }
+            throw e;
+        }
+    }
+
+    private static boolean queryBoolean(Statement statement, String sql) throws SQLException {
+        try (ResultSet result = statement.executeQuery(sql)) {
+            return result.next() && result.getBoolean(1);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${reviews.purge.interval-ms}")
+    public void schedulePurge() {
+        if (running.compareAndSet(false, true)) {
+            executor.execute(() -> {
+                try {
+                    purgePending();
+                } catch (RuntimeException e) {
+                    log.warn("Review purge run failed", e);
+                } finally {
+                    running.set(false);
+                }
+            });
+        }
+    }
+
+    /**
+     * One purge run: up to {@code reviews-per-run} reviews, oldest deletion first. Stops early
+     * when the node gets busy; whatever is left waits for the next run.
+     */
+    public void purgePending() {
+        if (!isQuiet()) {
+            return;
+        }
+        for (Long reviewId : reviewRepository.findIdsPendingPurge(reviewsPerRun)) {
+            if (!purge(reviewId)) {
+                return;
+            }
+        }
+    }
+
+    // False when the purge was interrupted by load or shutdown
+    private boolean purge(Long reviewId) {
+        int deleted;
+        do {
+            if (!isQuiet()) {
+                return false;
+            }
+            deleted = reviewLikeRepository.deleteBatchByReviewId(reviewId, batchSize);
+            purgedLikes.increment(deleted);
+            if (deleted == batchSize && !pause()) {
+                return false;
+            }
+        } while (deleted == batchSize);
+
+        if (reviewRepository.deletePurged(reviewId) > 0) {
+            purgedReviews.increment();
+            log.debug("Purged review {}", reviewId);
+        }
+        return true;
+    }
+
+    // Our own connection is back in the pool between batches, so it does not count here
+    private boolean isQuiet() {
+        return sumOf("hikaricp.connections.pending") == 0
+                && sumOf("hikaricp.connections.active") <= maxActiveConnections;
+    }
+
+    private double sumOf(String gauge) {
+        return meterRegistry.find(gauge).gauges().stream().mapToDouble(Gauge::value).sum();
+    }
+
+    private boolean pause() {
+        try {
+            Thread.sleep(batchPauseMillis);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+}
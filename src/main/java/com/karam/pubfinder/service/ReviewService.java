@@ -3,24 +3,36 @@ package com.karam.pubfinder.service;
 import com.karam.pubfinder.dto.ReviewRequest;
 import com.karam.pubfinder.dto.ReviewResponse;
 import com.karam.pubfinder.entity.Pub;
+import com.karam.pubfinder.entity.PubRatingStats;
 import com.karam.pubfinder.entity.Review;
-import com.karam.pubfinder.entity.ReviewLike;
 import com.karam.pubfinder.entity.User;
+import com.karam.pubfinder.event.PubRatingChangedEvent;
+import com.karam.pubfinder.event.ReviewChangedEvent;
+import com.karam.pubfinder.event.ReviewLikeChangedEvent;
+import com.karam.pubfinder.repository.PubRatingStatsRepository;
 import com.karam.pubfinder.repository.PubRepository;
 import com.karam.pubfinder.repository.ReviewLikeRepository;
 import com.karam.pubfinder.repository.ReviewRepository;
 import com.karam.pubfinder.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
+import java.time.LocalDateTime;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class ReviewService {
@@ -29,6 +41,8 @@ public class ReviewService {
     private final UserRepository userRepository;
     private final PubRepository pubRepository;
     private final ReviewLikeRepository reviewLikeRepository;
+    private final PubRatingStatsRepository pubRatingStatsRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Transactional
     public ReviewResponse createReview(ReviewRequest request, Long userId) {
@@ -47,11 +61,13 @@ public class ReviewService {
                 .build();
 
         review = reviewRepository.save(review);
-        updatePubRating(pub.getId());
+        pubRatingStatsRepository.applyDelta(pub.getId(), review.getRate(), 1);
+        // The pub rating is recomputed after commit, see PubRatingUpdater
+        eventPublisher.publishEvent(new ReviewChangedEvent(review.getId(), pub.getId(),
+                ReviewChangedEvent.Type.CREATED, true));
 
-        // Check if the current user has liked this review (should be false for newly created)
-        boolean isLiked = reviewLikeRepository.existsByReviewIdAndUserId(review.getId(), userId);
-        return mapToResponse(review, isLiked);
+        // Nobody can have liked a review that did not exist until now
+        return mapToResponse(review, false);
     }
 
     @Transactional(readOnly = true)
@@ -71,12 +87,44 @@ public class ReviewService {
         return mapToResponse(review, isLiked);
     }
 
+    /**
+     * Reviews for the given ids in the order asked for; unknown ids are left out.
+     */
+    @Transactional(readOnly = true)
+    public List<ReviewResponse> getReviewsByIds(List<Long> ids, Long currentUserId) {
+        Map<Long, Review> reviews = reviewRepository.findByIdIn(ids).stream()
+                .collect(Collectors.toMap(Review::getId, Function.identity()));
+
+        // Liked flags for the requested reviews only
+        Set<Long> likedReviewIds = (currentUserId == null || reviews.isEmpty())
+                ? Collections.emptySet()
+                : reviewLikeRepository.findLikedReviewIdsByUserIdAndReviewIdIn(currentUserId, reviews.keySet());
+
+        return ids.stream()
+                .filter(reviews::containsKey)
+                .map(id -> mapToResponse(reviews.get(id), likedReviewIds.contains(id)))
+                .collect(Collectors.toList());
+    }
+
     @Transactional(readOnly = true)
     public List<ReviewResponse> getReviewsByPubId(Long pubId, Long currentUserId) {
         List<Review> reviews = reviewRepository.findByPubId(pubId);
         return mapToResponseList(reviews, currentUserId);
     }
 
+    @Transactional(readOnly = true)
+    public Slice<ReviewResponse> getReviewPageByPubId(Long pubId, int page, int size, Long currentUserId) {
+        Slice<Review> reviews = reviewRepository.findByPubIdOrderByCreatedAtDesc(pubId, PageRequest.of(page, size));
+
+        // Liked flags for this page only
+        Set<Long> likedReviewIds = (currentUserId == null || !reviews.hasContent())
+                ? Collections.emptySet()
+                : reviewLikeRepository.findLikedReviewIdsByUserIdAndReviewIdIn(currentUserId,
+                        reviews.map(Review::getId).getContent());
+
+        return reviews.map(review -> mapToResponse(review, likedReviewIds.contains(review.getId())));
+    }
+
     @Transactional(readOnly = true)
     public List<ReviewResponse> getReviewsByUserId(Long userId, Long currentUserId) {
         List<Review> reviews = reviewRepository.findByUserId(userId);
@@ -88,14 +136,22 @@ public class ReviewService {
         Review review = reviewRepository.findByIdAndUserId(reviewId, userId)
                 .orElseThrow(() -> new RuntimeException("Review not found or you don't have permission to update it"));
 
+        int previousRate = review.getRate();
         review.setContent(request.getContent());
         review.setRate(request.getRate());
 
         review = reviewRepository.save(review);
-        updatePubRating(review.getPub().getId());
+        Long pubId = review.getPub().getId();
+        // A text-only edit cannot move the pub's rating or star counts
+        boolean rateChanged = previousRate != review.getRate();
+        if (rateChanged) {
+            pubRatingStatsRepository.moveRate(pubId, previousRate, review.getRate());
+        }
+        eventPublisher.publishEvent(new ReviewChangedEvent(reviewId, pubId, ReviewChangedEvent.Type.UPDATED, rateChanged));
 
-        // Check if the user had previously liked their own review (if permitted)
-        boolean isLiked = reviewLikeRepository.existsByReviewIdAndUserId(reviewId, userId);
+        // Users may like their own review; a review nobody has liked needs no lookup
+        boolean isLiked = review.getLikeCount() > 0
+                && reviewLikeRepository.existsByReviewIdAndUserId(reviewId, userId);
 
         return mapToResponse(review, isLiked);
     }
@@ -106,88 +162,94 @@ public class ReviewService {
                 .orElseThrow(() -> new RuntimeException("Review not found or you don't have permission to delete it"));
 
         Long pubId = review.getPub().getId();
-        reviewRepository.delete(review);
-        updatePubRating(pubId);
+        // Only marked here; ReviewPurger removes the likes and the row later, in small batches
+        review.setDeletedAt(LocalDateTime.now());
+        reviewRepository.save(review);
+        pubRatingStatsRepository.applyDelta(pubId, review.getRate(), -1);
+        eventPublisher.publishEvent(new ReviewChangedEvent(reviewId, pubId, ReviewChangedEvent.Type.DELETED, true));
     }
 
     @Transactional
     public ReviewResponse likeReview(Long reviewId, Long userId) {
-        Review review = reviewRepository.findById(reviewId)
+        // The response is the whole review with its author and pub, so the row has to be read.
+        // Joining both costs the same one statement as reading the review alone, and unlike lazy
+        // loads it does not depend on the second-level cache, which misses while the pub row is
+        // being rewritten by a rating recompute.
+        Review review = reviewRepository.findWithUserAndPubById(reviewId)
                 .orElseThrow(() -> new RuntimeException("Review not found"));
 
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new RuntimeException("User not found"));
-
-        System.out.println("DEBUG likeReview - reviewId: " + reviewId + ", userId: " + userId);
-
-        boolean alreadyLiked = reviewLikeRepository.existsByReviewIdAndUserId(reviewId, userId);
-        System.out.println("DEBUG alreadyLiked: " + alreadyLiked);
+        log.debug("likeReview - reviewId: {}, userId: {}", reviewId, userId);
 
-        if (alreadyLiked) {
+        // userId is the authenticated caller, so the foreign key is all the user check needed
+        if (reviewLikeRepository.insertIfAbsent(reviewId, userId) == 0) {
             throw new RuntimeException("You have already liked this review");
         }
 
-        ReviewLike like = ReviewLike.builder()
-                .review(review)
-                .user(user)
-                .build();
-
-        reviewLikeRepository.save(like);
-        System.out.println("DEBUG ReviewLike saved");
-
-        review.setLikeCount(review.getLikeCount() + 1);
-        review = reviewRepository.save(review);
-
-        // Verify the like was saved
-        boolean nowLiked = reviewLikeRepository.existsByReviewIdAndUserId(reviewId, userId);
-        System.out.println("DEBUG After save, nowLiked: " + nowLiked);
+        int likeCount = reviewRepository.incrementLikeCount(reviewId);
+        eventPublisher.publishEvent(new ReviewLikeChangedEvent(reviewId, review.getPub().getId(), userId, true,
+                likeCount));
 
         // Return the updated review with isLikedByCurrentUser = true
-        return mapToResponse(review, true);
+        return mapToResponse(review, true, likeCount);
     }
 
     @Transactional
     public ReviewResponse unlikeReview(Long reviewId, Long userId) {
-        Review review = reviewRepository.findById(reviewId)
+        // Read in full for the response, as in likeReview
+        Review review = reviewRepository.findWithUserAndPubById(reviewId)
                 .orElseThrow(() -> new RuntimeException("Review not found"));
 
-        ReviewLike like = reviewLikeRepository.findByReviewIdAndUserId(reviewId, userId)
-                .orElseThrow(() -> new RuntimeException("You haven't liked this review"));
+        if (reviewLikeRepository.bulkDeleteByReviewIdAndUserId(reviewId, userId) == 0) {
+            throw new RuntimeException("You haven't liked this review");
+        }
 
-        reviewLikeRepository.delete(like);
-
-        review.setLikeCount(Math.max(0, review.getLikeCount() - 1));
-        review = reviewRepository.save(review);
+        int likeCount = reviewRepository.decrementLikeCount(reviewId);
+        eventPublisher.publishEvent(new ReviewLikeChangedEvent(reviewId, review.getPub().getId(), userId, false,
+                likeCount));
 
         // Return the updated review with isLikedByCurrentUser = false
-        return mapToResponse(review, false);
+        return mapToResponse(review, false, likeCount);
     }
 
-    private void updatePubRating(Long pubId) {
-        List<Review> reviews = reviewRepository.findByPubId(pubId);
-
-        if (reviews.isEmpty()) {
-            Pub pub = pubRepository.findById(pubId)
-                    .orElseThrow(() -> new RuntimeException("Pub not found"));
-            pub.setRating(BigDecimal.ZERO);
-            pubRepository.save(pub);
-            return;
-        }
-
-        double averageRating = reviews.stream()
-                .mapToInt(Review::getRate)
-                .average()
-                .orElse(0.0);
+    /**
+     * Recomputes a pub's average rating in its own transaction. Review writes no longer call
+     * this; {@link PubRatingUpdater} does, after they commit. The average comes from the pub's
+     * star counts, one row however many reviews it has.
+     */
+    @Transactional
+    public void updatePubRating(Long pubId) {
+        BigDecimal rating = pubRatingStatsRepository.findById(pubId)
+                .map(ReviewService::averageRating)
+                .orElse(BigDecimal.ZERO);
 
         Pub pub = pubRepository.findById(pubId)
                 .orElseThrow(() -> new RuntimeException("Pub not found"));
-        pub.setRating(BigDecimal.valueOf(averageRating).setScale(1, RoundingMode.HALF_UP));
+        // A review can move between stars without moving the rounded average
+        if (pub.getRating() != null && pub.getRating().compareTo(rating) == 0) {
+            return;
+        }
+        pub.setRating(rating);
         pubRepository.save(pub);
+        eventPublisher.publishEvent(new PubRatingChangedEvent(pubId, rating));
+    }
+
+    private static BigDecimal averageRating(PubRatingStats stats) {
+        long[] counts = {stats.getStars0(), stats.getStars1(), stats.getStars2(),
+                stats.getStars3(), stats.getStars4(), stats.getStars5()};
+        long reviews = 0;
+        long stars = 0;
+        for (int rate = 0; rate < counts.length; rate++) {
+            reviews += counts[rate];
+            stars += rate * counts[rate];
+        }
+        return reviews == 0
+                ? BigDecimal.ZERO
+                : BigDecimal.valueOf(stars).divide(BigDecimal.valueOf(reviews), 1, RoundingMode.HALF_UP);
     }
 
     // --- Helper Methods for Mapping ---
 
-    private List<ReviewResponse> mapToResponseList(List<Review> reviews, Long currentUserId) {
+    List<ReviewResponse> mapToResponseList(List<Review> reviews, Long currentUserId) {
         // Optimization: Fetch all liked IDs for this user in one query
         Set<Long> likedReviewIds = (currentUserId == null)
                 ? Collections.emptySet()
@@ -198,6 +260,13 @@ public class ReviewService {
                 .collect(Collectors.toList());
     }
 
+    // The loaded entity still holds the count from before the atomic update
+    private ReviewResponse mapToResponse(Review review, boolean isLikedByCurrentUser, int likeCount) {
+        return mapToResponse(review, isLikedByCurrentUser).toBuilder()
+                .likeCount(likeCount)
+                .build();
+    }
+
     private ReviewResponse mapToResponse(Review review, boolean isLikedByCurrentUser) {
         return ReviewResponse.builder()
                 .id(review.getId())
@@ -0,0 +1,98 @@
+package com.karam.pubfinder.service;
+
+import com.karam.pubfinder.entity.RevokedToken;
+import com.karam.pubfinder.repository.RevokedTokenRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps the set of revoked token ids in memory so {@code JwtAuthenticationFilter} can check
+ * revocation with a hash probe instead of a database round trip.
+ * <p>
+ * The {@code revoked_tokens} table is the source of truth. Each node polls it for revocations
+ * made elsewhere and drops entries once the token would have expired anyway. The first load
+ * happens during startup, before the web server accepts requests, so a fresh node never lets a
+ * revoked token through.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class TokenRevocationService implements SmartInitializingSingleton {
+
+    // Rows written by other nodes may commit slightly after their revoked_at timestamp
+    private static final Duration SYNC_OVERLAP = Duration.ofSeconds(30);
+
+    private final RevokedTokenRepository revokedTokenRepository;
+
+    // jti -> expiry (epoch millis)
+    private final Map<String, Long> revokedTokens = new ConcurrentHashMap<>();
+
+    private volatile LocalDateTime syncedUpTo;
+
+    // A node that cannot load the set fails to start rather than serve without it
+    @Override
+    public void afterSingletonsInstantiated() {
+        syncRevocations();
+        log.info("Loaded {} revoked tokens", revokedTokens.size());
+    }
+
+    public boolean isRevoked(String tokenId) {
+        return tokenId != null && revokedTokens.containsKey(tokenId);
+    }
+
+    @Transactional
+    public void revoke(String tokenId, Date expiresAt) {
+        revokedTokens.put(tokenId, expiresAt.getTime());
+
+        revokedTokenRepository.save(RevokedToken.builder()
+                .jti(tokenId)
+                .expiresAt(LocalDateTime.ofInstant(expiresAt.toInstant(), ZoneId.systemDefault()))
+                .build());
+    }
+
+    @Scheduled(fixedDelayString = "${jwt.revocation.sync-interval-ms}")
+    @Transactional(readOnly = true)
+    public void syncRevocations() {
+        LocalDateTime since = syncedUpTo;
+        List<RevokedToken> tokens = (since == null)
+                ? revokedTokenRepository.findByExpiresAtAfter(LocalDateTime.now())
+                : revokedTokenRepository.findByRevokedAtAfter(since.minus(SYNC_OVERLAP));
+
+        LocalDateTime latest = since;
+        for (RevokedToken token : tokens) {
+            revokedTokens.put(token.getJti(), toEpochMillis(token.getExpiresAt()));
+            if (latest == null || token.getRevokedAt().isAfter(latest)) {
+                latest = token.getRevokedAt();
+            }
+        }
+        syncedUpTo = (latest != null) ? latest : LocalDateTime.now();
+    }
+
+    @Scheduled(fixedDelayString = "${jwt.revocation.prune-interval-ms}")
+    @Transactional
+    public void pruneExpired() {
+        long now = System.currentTimeMillis();
+        revokedTokens.values().removeIf(expiresAt -> expiresAt < now);
+
+        int deleted = revokedTokenRepository.deleteExpired(LocalDateTime.now());
+        if (deleted > 0) {
+            log.debug("Pruned {} expired revoked tokens", deleted);
+        }
+    }
+
+    private long toEpochMillis(LocalDateTime dateTime) {
+        return dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
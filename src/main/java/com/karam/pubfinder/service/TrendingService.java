@@ -0,0 +1,332 @@
+package com.karam.pubfinder.service;
+
+import com.karam.pubfinder.dto.ReviewResponse;
+import com.karam.pubfinder.entity.Review;
+import com.karam.pubfinder.entity.TrendingReviewScore;
+import com.karam.pubfinder.event.ReviewChangedEvent;
+import com.karam.pubfinder.event.ReviewLikeChangedEvent;
+import com.karam.pubfinder.repository.ReviewRepository;
+import com.karam.pubfinder.repository.TrendingReviewScoreRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.function.LongSupplier;
+
+/**
+ * Ranks reviews by a time-decayed score held in memory, so a trending page costs a lookup of
+ * the listed reviews by id and never a scan of {@code reviews} or {@code review_likes}.
+ * <p>
+ * A new review and each like add a weight that halves every half-life; an unlike takes a like's
+ * weight back. Scores are kept relative to an epoch instead of being decayed in place: an event
+ * at time t adds {@code weight * 2^((t - epoch) / halfLife)}, which orders reviews exactly as
+ * their decayed scores would. Checkpoints move the epoch to the present, which keeps the numbers
+ * small, and save the top scores so a restarted node resumes where it left off.
+ * <p>
+ * Every scope (all pubs, and each pub) keeps its own bounded top-K, updated on each event.
+ * An unlike can leave a member ranked above a review that now beats it; checkpoints rebuild the
+ * top-Ks from all tracked scores, which sets that right. Scores only see events handled by
+ * this node. Nodes merge their checkpoints into one table, one node at a time, each review
+ * keeping its highest score; a restarted node therefore resumes from what all nodes saw.
+ */
+@Slf4j
+@Service
+public class TrendingService {
+
+    private static final Comparator<Ranked> RANKING = Comparator.comparingDouble(Ranked::score).reversed()
+            .thenComparing(Comparator.comparingLong(Ranked::reviewId).reversed());
+
+    private record Ranked(long reviewId, double score) {
+    }
+
+    private static final class Scored {
+        private final long pubId;
+        private double score;
+
+        Scored(long pubId) {
+            this.pubId = pubId;
+        }
+    }
+
+    private final ReviewService reviewService;
+    private final ReviewRepository reviewRepository;
+    private final TrendingReviewScoreRepository trendingReviewScoreRepository;
+    private final LongSupplier millisClock;
+
+    private final double halfLifeMillis;
+    private final double likeWeight;
+    private final double reviewWeight;
+    private final int topK;
+    private final int maxTracked;
+    private final int checkpointSize;
+
+    // All guarded by this
+    private long epochMillis;
+    private final Map<Long, Scored> scores = new HashMap<>();
+    private final TopK global = new TopK();
+    private final Map<Long, TopK> byPub = new HashMap<>();
+
+    // Until the checkpoint is loaded, writing one would overwrite it with a near-empty set
+    private volatile boolean restored;
+
+    @Autowired
+    public TrendingService(ReviewService reviewService,
+                           ReviewRepository reviewRepository,
+                           TrendingReviewScoreRepository trendingReviewScoreRepository,
+                           @Value("${reviews.trending.half-life-ms}") long halfLifeMillis,
+                           @Value("${reviews.trending.like-weight}") double likeWeight,
+                           @Value("${reviews.trending.review-weight}") double reviewWeight,
+                           @Value("${reviews.trending.top-k}") int topK,
+                           @Value("${reviews.trending.max-tracked}") int maxTracked,
+                           @Value("${reviews.trending.checkpoint-size}") int checkpointSize) {
+        this(reviewService, reviewRepository, trendingReviewScoreRepository, halfLifeMillis, likeWeight,
+                reviewWeight, topK, maxTracked, checkpointSize, System::currentTimeMillis);
+    }
+
+    public TrendingService(ReviewService reviewService,
+                           ReviewRepository reviewRepository,
+                           TrendingReviewScoreRepository trendingReviewScoreRepository,
+                           long halfLifeMillis,
+                           double likeWeight,
+                           double reviewWeight,
+                           int topK,
+                           int maxTracked,
+                           int checkpointSize,
+                           LongSupplier millisClock) {
+        this.reviewService = reviewService;
+        this.reviewRepository = reviewRepository;
+        this.trendingReviewScoreRepository = trendingReviewScoreRepository;
+        this.halfLifeMillis = halfLifeMillis;
+        this.likeWeight = likeWeight;
+        this.reviewWeight = reviewWeight;
+        this.topK = topK;
+        this.maxTracked = maxTracked;
+        this.checkpointSize = checkpointSize;
+        this.millisClock = millisClock;
+        this.epochMillis = millisClock.getAsLong();
+    }
+
+    /**
+     * The hottest reviews across all pubs, or of one pub when {@code pubId} is given; at most
+     * {@code top-k}.
+     */
+    public List<ReviewResponse> getTrendingReviews(Long pubId, int size, Long currentUserId) {
+        List<Long> ids = getTrendingReviewIds(pubId, size);
+        return ids.isEmpty() ? List.of() : reviewService.getReviewsByIds(ids, currentUserId);
+    }
+
+    public synchronized List<Long> getTrendingReviewIds(Long pubId, int size) {
+        TopK scope = (pubId == null) ? global : byPub.get(pubId);
+        return (scope == null) ? List.of() : scope.ids(size);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onReviewChanged(ReviewChangedEvent event) {
+        switch (event.type()) {
+            case CREATED -> add(event.reviewId(), event.pubId(), reviewWeight, millisClock.getAsLong());
+            case DELETED -> remove(event.reviewId());
+            case UPDATED -> {
+                // Editing a review is not activity anyone else generated
+            }
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onReviewLikeChanged(ReviewLikeChangedEvent event) {
+        add(event.reviewId(), event.pubId(), event.liked() ? likeWeight : -likeWeight, millisClock.getAsLong());
+    }
+
+    /**
+     * Loads the last checkpoint, or seeds from the newest reviews when there is none. Events
+     * handled in the meantime are kept; the loaded scores are added to them.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void restore() {
+        List<TrendingReviewScore> checkpoint = trendingReviewScoreRepository.findAll();
+        if (!checkpoint.isEmpty()) {
+            for (TrendingReviewScore row : checkpoint) {
+                add(row.getReviewId(), row.getPubId(), row.getScore(), toMillis(row.getCheckpointedAt()));
+            }
+            log.info("Trending feed restored from a checkpoint of {} reviews", checkpoint.size());
+        } else {
+            // Only approximate: every like is counted as if it came with the review
+            List<Review> newest = reviewRepository.findByOrderByIdDesc(Limit.of(checkpointSize));
+            for (Review review : newest) {
+                add(review.getId(), review.getPub().getId(),
+                        reviewWeight + review.getLikeCount() * likeWeight, toMillis(review.getCreatedAt()));
+            }
+            log.info("Trending feed seeded from the {} newest reviews", newest.size());
+        }
+        restored = true;
+    }
+
+    @Scheduled(fixedDelayString = "${reviews.trending.checkpoint-interval-ms}",
+            initialDelayString = "${reviews.trending.checkpoint-interval-ms}")
+    @Transactional
+    public void checkpoint() {
+        if (!restored) {
+            return;
+        }
+        List<TrendingReviewScore> rows = compact();
+        // Another node is writing its checkpoint; ours gets merged in on the next run
+        if (!trendingReviewScoreRepository.tryLockForCheckpoint()) {
+            log.debug("Trending checkpoint skipped, another node holds the lock");
+            return;
+        }
+        if (!rows.isEmpty()) {
+            trendingReviewScoreRepository.merge(
+                    rows.stream().map(TrendingReviewScore::getReviewId).toArray(Long[]::new),
+                    rows.stream().map(TrendingReviewScore::getPubId).toArray(Long[]::new),
+                    rows.stream().map(TrendingReviewScore::getScore).toArray(Double[]::new),
+                    rows.get(0).getCheckpointedAt(),
+                    halfLifeMillis);
+        }
+        // No node has saved these for ten half-lives, so every node has long dropped them
+        long staleBefore = millisClock.getAsLong() - (long) (10 * halfLifeMillis);
+        trendingReviewScoreRepository.deleteCheckpointedBefore(toDateTime(staleBefore));
+    }
+
+    /**
+     * Moves the epoch to now, drops negligible and excess scores, rebuilds every top-K and
+     * returns the highest scores as checkpoint rows.
+     */
+    private synchronized List<TrendingReviewScore> compact() {
+        long now = millisClock.getAsLong();
+        double decay = growth(now);
+        epochMillis = now;
+        // Less than a like that is ten half-lives old no longer matters
+        double negligible = likeWeight / 1024;
+        Iterator<Scored> tracked = scores.values().iterator();
+        while (tracked.hasNext()) {
+            Scored scored = tracked.next();
+            scored.score *= decay;
+            if (scored.score < negligible) {
+                tracked.remove();
+            }
+        }
+
+        List<Map.Entry<Long, Scored>> ranked = new ArrayList<>(scores.entrySet());
+        ranked.sort(Comparator.comparingDouble((Map.Entry<Long, Scored> entry) -> entry.getValue().score).reversed());
+        if (ranked.size() > maxTracked) {
+            ranked.subList(maxTracked, ranked.size()).forEach(entry -> scores.remove(entry.getKey()));
+            ranked = ranked.subList(0, maxTracked);
+        }
+
+        global.clear();
+        byPub.clear();
+        for (Map.Entry<Long, Scored> entry : ranked) {
+            global.offer(entry.getKey(), entry.getValue().score);
+            byPub.computeIfAbsent(entry.getValue().pubId, id -> new TopK()).offer(entry.getKey(), entry.getValue().score);
+        }
+
+        LocalDateTime checkpointedAt = toDateTime(now);
+        return ranked.stream()
+                .limit(checkpointSize)
+                .map(entry -> TrendingReviewScore.builder()
+                        .reviewId(entry.getKey())
+                        .pubId(entry.getValue().pubId)
+                        .score(entry.getValue().score)
+                        .checkpointedAt(checkpointedAt)
+                        .build())
+                .toList();
+    }
+
+    private synchronized void add(long reviewId, long pubId, double weight, long atMillis) {
+        Scored scored = scores.get(reviewId);
+        double oldScore = (scored == null) ? 0 : scored.score;
+        double newScore = Math.max(0, oldScore + weight * growth(atMillis));
+        if (scored == null) {
+            if (newScore == 0) {
+                return;
+            }
+            scored = new Scored(pubId);
+            scores.put(reviewId, scored);
+        }
+        scored.score = newScore;
+
+        global.update(reviewId, oldScore, newScore);
+        byPub.computeIfAbsent(pubId, id -> new TopK()).update(reviewId, oldScore, newScore);
+    }
+
+    private synchronized void remove(long reviewId) {
+        Scored scored = scores.remove(reviewId);
+        if (scored == null) {
+            return;
+        }
+        global.remove(reviewId, scored.score);
+        TopK pubScope = byPub.get(scored.pubId);
+        if (pubScope != null && pubScope.remove(reviewId, scored.score) && pubScope.isEmpty()) {
+            byPub.remove(scored.pubId);
+        }
+    }
+
+    private double growth(long atMillis) {
+        return Math.pow(2, (atMillis - epochMillis) / halfLifeMillis);
+    }
+
+    private static long toMillis(LocalDateTime dateTime) {
+        return dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    private static LocalDateTime toDateTime(long millis) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(millis), ZoneId.systemDefault());
+    }
+
+    // Highest score first; an ordered set rather than a heap, so members can be re-scored
+    private final class TopK {
+
+        private final TreeSet<Ranked> ranked = new TreeSet<>(RANKING);
+
+        void update(long reviewId, double oldScore, double newScore) {
+            // A member makes room for itself, so it is always put back
+            ranked.remove(new Ranked(reviewId, oldScore));
+            if (newScore > 0) {
+                offer(reviewId, newScore);
+            }
+        }
+
+        void offer(long reviewId, double score) {
+            Ranked entry = new Ranked(reviewId, score);
+            if (ranked.size() < topK || RANKING.compare(entry, ranked.last()) < 0) {
+                ranked.add(entry);
+                if (ranked.size() > topK) {
+                    ranked.pollLast();
+                }
+            }
+        }
+
+        boolean remove(long reviewId, double score) {
+            return ranked.remove(new Ranked(reviewId, score));
+        }
+
+        boolean isEmpty() {
+            return ranked.isEmpty();
+        }
+
+        void clear() {
+            ranked.clear();
+        }
+
+        List<Long> ids(int limit) {
+            return ranked.stream().limit(limit).map(Ranked::reviewId).toList();
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.karam.pubfinder.utils;
+
+import jakarta.servlet.http.HttpServletResponse;
+import org.hibernate.exception.JDBCConnectionException;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.transaction.CannotCreateTransactionException;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.sql.SQLNonTransientConnectionException;
+import java.sql.SQLTransientConnectionException;
+
+/**
+ * Helpers for serving reads from last-known-good data while the database is unreachable.
+ */
+public final class DegradedReads {
+
+    /**
+     * Seconds since the data in a response was read from the database; only set on stale responses.
+     */
+    public static final String STALE_HEADER = "X-Data-Stale-Seconds";
+
+    private DegradedReads() {
+    }
+
+    /**
+     * True when the failure means we could not reach the database at all, as opposed to a
+     * query or business error that a snapshot must not paper over.
+     */
+    public static boolean isDatabaseUnavailable(Throwable failure) {
+        for (Throwable t = failure; t != null; t = t.getCause()) {
+            if (t instanceof CannotCreateTransactionException
+                    || t instanceof DataAccessResourceFailureException
+                    || t instanceof JDBCConnectionException
+                    || t instanceof SQLTransientConnectionException
+                    || t instanceof SQLNonTransientConnectionException) {
+                return true;
+            }
+            if (t.getCause() == t) {
+                break;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Flags the current response as served from data taken at {@code takenAtMillis}.
+     */
+    public static void markStale(long takenAtMillis) {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes instanceof ServletRequestAttributes servletAttributes) {
+            HttpServletResponse response = servletAttributes.getResponse();
+            if (response == null) {
+                return;
+            }
+            // Reads handed to other threads of the same request may mark it concurrently
+            synchronized (response) {
+                if (!response.isCommitted()) {
+                    long ageSeconds = Math.max(0, (System.currentTimeMillis() - takenAtMillis) / 1000);
+                    response.setHeader(STALE_HEADER, Long.toString(ageSeconds));
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.karam.pubfinder.utils;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Deduplicates concurrent loads of the same key: the first caller runs the loader, callers
+ * arriving while it is in flight wait for and share its result (or its exception).
+ * <p>
+ * Nothing is cached once the load completes, so the next caller after that loads again.
+ * Shared results go to several threads at once and must be treated as immutable.
+ */
+public class SingleFlight<K, V> {
+
+    private final ConcurrentHashMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+    private final LongAdder loads = new LongAdder();
+    private final LongAdder sharedResults = new LongAdder();
+
+    public V execute(K key, Supplier<V> loader) {
+        CompletableFuture<V> call = new CompletableFuture<>();
+        CompletableFuture<V> existing = inFlight.putIfAbsent(key, call);
+
+        if (existing != null) {
+            sharedResults.increment();
+            return await(existing);
+        }
+
+        loads.increment();
+        try {
+            V value = loader.get();
+            call.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            call.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, call);
+        }
+    }
+
+    /**
+     * Loads actually executed.
+     */
+    public long getLoads() {
+        return loads.sum();
+    }
+
+    /**
+     * Callers that were handed another caller's in-flight result instead of loading.
+     */
+    public long getSharedResults() {
+        return sharedResults.sum();
+    }
+
+    private static <V> V await(CompletableFuture<V> call) {
+        try {
+            return call.join();
+        } catch (CompletionException e) {
+            // Rethrow what the loading caller saw, so callers handle a shared failure like their own
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.karam.pubfinder.utils;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Per-thread tally of JDBC statements and the time spent executing them. The SQL stats
+ * filter resets it at the start of each request; integration tests can use it to assert
+ * query budgets.
+ * <p>
+ * A request that hands work to other threads {@link #bind binds} its tally to them, so one
+ * tally can be updated from several threads at once.
+ */
+public final class SqlStatementStats {
+
+    private static final ThreadLocal<SqlStatementStats> CURRENT = ThreadLocal.withInitial(SqlStatementStats::new);
+
+    private final AtomicInteger statementCount = new AtomicInteger();
+    private final AtomicLong jdbcTimeMillis = new AtomicLong();
+
+    private SqlStatementStats() {
+    }
+
+    public static SqlStatementStats current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Starts a fresh tally for the current thread and returns it.
+     */
+    public static SqlStatementStats reset() {
+        SqlStatementStats stats = new SqlStatementStats();
+        CURRENT.set(stats);
+        return stats;
+    }
+
+    /**
+     * Makes {@code stats} the current thread's tally, so statements run on this thread count
+     * towards the request that owns it.
+     */
+    public static void bind(SqlStatementStats stats) {
+        CURRENT.set(stats);
+    }
+
+    public static void clear() {
+        CURRENT.remove();
+    }
+
+    public void record(long elapsedMillis) {
+        statementCount.incrementAndGet();
+        jdbcTimeMillis.addAndGet(elapsedMillis);
+    }
+
+    public int getStatementCount() {
+        return statementCount.get();
+    }
+
+    public long getJdbcTimeMillis() {
+        return jdbcTimeMillis.get();
+    }
+}
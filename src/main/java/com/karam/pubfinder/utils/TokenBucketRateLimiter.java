@@ -0,0 +1,91 @@
+package com.karam.pubfinder.utils;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Lock-free token bucket keyed by an arbitrary string (client IP, username, ...).
+ * <p>
+ * Each key holds a single {@link AtomicLong} with the bucket's "theoretical arrival time"
+ * (the GCRA form of a token bucket), so taking a token is one CAS and buckets refill
+ * without any timer. A bucket whose arrival time is in the past is full, which means it
+ * is indistinguishable from a missing key and can be evicted at any time.
+ */
+public class TokenBucketRateLimiter {
+
+    private final long emissionIntervalNanos;
+    private final long burstToleranceNanos;
+    private final int maxKeys;
+    private final LongSupplier nanoClock;
+
+    private final ConcurrentHashMap<String, AtomicLong> buckets = new ConcurrentHashMap<>();
+    private final AtomicBoolean evicting = new AtomicBoolean();
+
+    public TokenBucketRateLimiter(int capacity, int refillPerMinute, int maxKeys) {
+        this(capacity, refillPerMinute, maxKeys, System::nanoTime);
+    }
+
+    public TokenBucketRateLimiter(int capacity, int refillPerMinute, int maxKeys, LongSupplier nanoClock) {
+        if (capacity < 1 || refillPerMinute < 1 || maxKeys < 1) {
+            throw new IllegalArgumentException("Rate limiter capacity, refill rate and key limit must be positive");
+        }
+        this.emissionIntervalNanos = Duration.ofMinutes(1).toNanos() / refillPerMinute;
+        this.burstToleranceNanos = emissionIntervalNanos * (capacity - 1);
+        this.maxKeys = maxKeys;
+        this.nanoClock = nanoClock;
+    }
+
+    /**
+     * Takes one token from the bucket for {@code key}.
+     *
+     * @return 0 if the token was granted, otherwise the nanoseconds until one becomes available
+     */
+    public long tryAcquire(String key) {
+        long now = nanoClock.getAsLong();
+
+        AtomicLong bucket = buckets.get(key);
+        if (bucket == null) {
+            evictIfFull(now);
+            bucket = buckets.computeIfAbsent(key, k -> new AtomicLong(now));
+        }
+
+        while (true) {
+            long arrival = bucket.get();
+            long start = arrival - now > 0 ? arrival : now;
+            long wait = start - now - burstToleranceNanos;
+            if (wait > 0) {
+                return wait;
+            }
+            if (bucket.compareAndSet(arrival, start + emissionIntervalNanos)) {
+                return 0;
+            }
+        }
+    }
+
+    public int size() {
+        return buckets.size();
+    }
+
+    private void evictIfFull(long now) {
+        if (buckets.size() < maxKeys || !evicting.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            // Full buckets carry no state, so dropping them never changes a decision
+            buckets.values().removeIf(bucket -> bucket.get() - now <= 0);
+
+            // Still over the limit (e.g. a spray of distinct IPs): drop arbitrary keys
+            Iterator<AtomicLong> it = buckets.values().iterator();
+            while (buckets.size() >= maxKeys && it.hasNext()) {
+                it.next();
+                it.remove();
+            }
+        } finally {
+            evicting.set(false);
+        }
+    }
+}
@@ -6,7 +6,9 @@ import com.karam.pubfinder.dto.RegisterRequest;
 import com.karam.pubfinder.entity.User;
 import com.karam.pubfinder.repository.UserRepository;
 import com.karam.pubfinder.service.AuthService;
+import com.karam.pubfinder.service.TokenRevocationService;
 import com.karam.pubfinder.utils.JwtUtil;
+import io.jsonwebtoken.Claims;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -15,6 +17,7 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
+import java.util.Date;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -34,6 +37,9 @@ class AuthServiceTest {
     @Mock
     private JwtUtil jwtUtil;
 
+    @Mock
+    private TokenRevocationService tokenRevocationService;
+
     @InjectMocks
     private AuthService authService;
 
@@ -173,4 +179,33 @@ class AuthServiceTest {
         verify(passwordEncoder).matches("password123", "encodedPassword");
         verify(jwtUtil, never()).generateToken(anyLong(), anyString());
     }
-}
\ No newline at end of file
+
+    @Test
+    void logout_RevokesTokenUntilItsExpiry() {
+        // Arrange
+        Date expiry = new Date(System.currentTimeMillis() + 60_000);
+        Claims claims = mock(Claims.class);
+        when(claims.getId()).thenReturn("token-id");
+        when(claims.getExpiration()).thenReturn(expiry);
+        when(jwtUtil.parseClaims("jwt-token")).thenReturn(claims);
+
+        // Act
+        authService.logout("jwt-token");
+
+        // Assert
+        verify(tokenRevocationService).revoke("token-id", expiry);
+    }
+
+    @Test
+    void logout_InvalidToken_ThrowsException() {
+        // Arrange
+        when(jwtUtil.parseClaims(anyString())).thenReturn(null);
+
+        // Act & Assert
+        RuntimeException exception = assertThrows(RuntimeException.class,
+                () -> authService.logout("garbage"));
+
+        assertEquals("Invalid token", exception.getMessage());
+        verify(tokenRevocationService, never()).revoke(anyString(), any(Date.class));
+    }
+}
@@ -0,0 +1,101 @@
+package com.karam.pubfinder;
+
+import com.karam.pubfinder.entity.Pub;
+import com.karam.pubfinder.event.PubRatingChangedEvent;
+import com.karam.pubfinder.event.ReviewChangedEvent;
+import com.karam.pubfinder.service.ClusterCacheInvalidator;
+import com.karam.pubfinder.service.ClusterEventBus;
+import com.karam.pubfinder.service.PubCatalogCache;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.util.function.Consumer;
+
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ClusterCacheInvalidatorTest {
+
+    @Mock
+    private ClusterEventBus clusterEventBus;
+
+    @Mock
+    private EntityManagerFactory entityManagerFactory;
+
+    @Mock
+    private PubCatalogCache pubCatalogCache;
+
+    private ClusterCacheInvalidator clusterCacheInvalidator;
+
+    @BeforeEach
+    void setUp() {
+        clusterCacheInvalidator = new ClusterCacheInvalidator(clusterEventBus, entityManagerFactory, pubCatalogCache);
+    }
+
+    @Test
+    void onPubRatingChanged_AnnouncesThePub() {
+        // Act
+        clusterCacheInvalidator.onPubRatingChanged(new PubRatingChangedEvent(7L, BigDecimal.ONE));
+
+        // Assert
+        verify(clusterEventBus).publish("pubfinder_pub_changed", "7");
+    }
+
+    @Test
+    void onReviewChanged_AnnouncesOnlyWhenStarsMoved() {
+        // Act
+        clusterCacheInvalidator.onReviewChanged(new ReviewChangedEvent(3L, 7L, ReviewChangedEvent.Type.UPDATED, false));
+        clusterCacheInvalidator.onReviewChanged(new ReviewChangedEvent(4L, 8L, ReviewChangedEvent.Type.CREATED, true));
+
+        // Assert
+        verify(clusterEventBus, never()).publish("pubfinder_pub_changed", "7");
+        verify(clusterEventBus).publish("pubfinder_pub_changed", "8");
+    }
+
+    @Test
+    void announcementFromAnotherNode_EvictsThePubAndCachedQueries() {
+        // Arrange
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<Consumer<String>> onMessage = ArgumentCaptor.forClass(Consumer.class);
+        verify(clusterEventBus).subscribe(eq("pubfinder_pub_changed"), onMessage.capture(), any(Runnable.class));
+        SessionFactory sessionFactory = mock(SessionFactory.class);
+        Cache cache = mock(Cache.class);
+        when(entityManagerFactory.unwrap(SessionFactory.class)).thenReturn(sessionFactory);
+        when(sessionFactory.getCache()).thenReturn(cache);
+
+        // Act
+        onMessage.getValue().accept("7");
+
+        // Assert
+        verify(cache).evictEntityData(Pub.class, 7L);
+        verify(cache).evictDefaultQueryRegion();
+        verify(pubCatalogCache).invalidate();
+    }
+
+    @Test
+    void resyncAfterReconnect_EvictsEveryPub() {
+        // Arrange
+        ArgumentCaptor<Runnable> onResync = ArgumentCaptor.forClass(Runnable.class);
+        verify(clusterEventBus).subscribe(eq("pubfinder_pub_changed"), any(), onResync.capture());
+        SessionFactory sessionFactory = mock(SessionFactory.class);
+        Cache cache = mock(Cache.class);
+        when(entityManagerFactory.unwrap(SessionFactory.class)).thenReturn(sessionFactory);
+        when(sessionFactory.getCache()).thenReturn(cache);
+
+        // Act
+        onResync.getValue().run();
+
+        // Assert
+        verify(cache).evictEntityData(Pub.class);
+        verify(cache).evictDefaultQueryRegion();
+        verify(pubCatalogCache).invalidate();
+    }
+}
@@ -0,0 +1,164 @@
+package com.karam.pubfinder;
+
+import com.karam.pubfinder.config.ReadYourWritesTracker;
+import com.karam.pubfinder.dto.PubResponse;
+import com.karam.pubfinder.dto.ReviewResponse;
+import com.karam.pubfinder.repository.ReviewLikeRepository;
+import com.karam.pubfinder.service.CoalescingReadService;
+import com.karam.pubfinder.service.PubService;
+import com.karam.pubfinder.service.ReadSnapshotStore;
+import com.karam.pubfinder.service.ReviewService;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.CannotCreateTransactionException;
+
+import java.sql.SQLTransientConnectionException;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CoalescingReadServiceTest {
+
+    @Mock
+    private PubService pubService;
+
+    @Mock
+    private ReviewService reviewService;
+
+    @Mock
+    private ReviewLikeRepository reviewLikeRepository;
+
+    private ReadYourWritesTracker readYourWritesTracker;
+    private CoalescingReadService coalescingReadService;
+
+    @BeforeEach
+    void setUp() {
+        readYourWritesTracker = new ReadYourWritesTracker(5000);
+        coalescingReadService = new CoalescingReadService(pubService, reviewService, reviewLikeRepository,
+                new ReadSnapshotStore(CircuitBreaker.ofDefaults("db"), 100), readYourWritesTracker,
+                new SimpleMeterRegistry());
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void getReviewsByPubId_OverlaysLikedFlagsWithoutTouchingSharedList() {
+        // Arrange
+        List<ReviewResponse> shared = List.of(review(1L), review(2L));
+        when(reviewService.getReviewsByPubId(10L, null)).thenReturn(shared);
+        when(reviewLikeRepository.findLikedReviewIdsByUserIdAndReviewIdIn(7L, List.of(1L, 2L))).thenReturn(Set.of(2L));
+
+        // Act
+        List<ReviewResponse> result = coalescingReadService.getReviewsByPubId(10L, 7L);
+
+        // Assert
+        assertFalse(result.get(0).isLikedByCurrentUser());
+        assertTrue(result.get(1).isLikedByCurrentUser());
+        assertSame(shared.get(0), result.get(0));
+        assertFalse(shared.get(1).isLikedByCurrentUser());
+    }
+
+    @Test
+    void getReviewsByPubId_AnonymousCallerGetsSharedListWithoutLikeQuery() {
+        // Arrange
+        List<ReviewResponse> shared = List.of(review(1L));
+        when(reviewService.getReviewsByPubId(10L, null)).thenReturn(shared);
+
+        // Act
+        List<ReviewResponse> result = coalescingReadService.getReviewsByPubId(10L, null);
+
+        // Assert
+        assertSame(shared, result);
+        verify(reviewLikeRepository, never()).findLikedReviewIdsByUserIdAndReviewIdIn(anyLong(), any());
+    }
+
+    @Test
+    void getReviewsByPubId_ServesSnapshotWhenDatabaseUnavailable() {
+        // Arrange
+        List<ReviewResponse> snapshot = List.of(review(1L));
+        when(reviewService.getReviewsByPubId(10L, null))
+                .thenReturn(snapshot)
+                .thenThrow(new CannotCreateTransactionException("Could not open JPA EntityManager",
+                        new SQLTransientConnectionException("Database circuit breaker is OPEN")));
+
+        // Act
+        coalescingReadService.getReviewsByPubId(10L, null);
+        List<ReviewResponse> result = coalescingReadService.getReviewsByPubId(10L, 7L);
+
+        // Assert: served as-is, and no like query against a database that is down
+        assertSame(snapshot, result);
+        verifyNoInteractions(reviewLikeRepository);
+    }
+
+    @Test
+    void getPubById_BusinessErrorsAreNotMaskedBySnapshot() {
+        // Arrange
+        when(pubService.getPubById(3L))
+                .thenReturn(PubResponse.builder().id(3L).title("The Crown").build())
+                .thenThrow(new RuntimeException("Pub not found with id: 3"));
+
+        // Act
+        coalescingReadService.getPubById(3L);
+        RuntimeException exception = assertThrows(RuntimeException.class, () -> coalescingReadService.getPubById(3L));
+
+        // Assert
+        assertEquals("Pub not found with id: 3", exception.getMessage());
+    }
+
+    @Test
+    void getPubById_StickyCallerDoesNotJoinLoadStartedBeforeItsWrite() throws Exception {
+        // Arrange: an anonymous load is in flight and still returns the old title
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(pubService.getPubById(3L))
+                .thenAnswer(invocation -> {
+                    loading.countDown();
+                    release.await(5, TimeUnit.SECONDS);
+                    return PubResponse.builder().id(3L).title("Old").build();
+                })
+                .thenReturn(PubResponse.builder().id(3L).title("New").build());
+        CompletableFuture<PubResponse> inFlight = CompletableFuture.supplyAsync(() -> coalescingReadService.getPubById(3L));
+        assertTrue(loading.await(5, TimeUnit.SECONDS));
+
+        readYourWritesTracker.recordWrite(7L);
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(7L, null, List.of()));
+
+        // Act
+        PubResponse result = coalescingReadService.getPubById(3L);
+        release.countDown();
+
+        // Assert
+        assertEquals("New", result.getTitle());
+        assertEquals("Old", inFlight.get(5, TimeUnit.SECONDS).getTitle());
+        verify(pubService, times(2)).getPubById(3L);
+    }
+
+    private ReviewResponse review(Long id) {
+        return ReviewResponse.builder()
+                .id(id)
+                .pubId(10L)
+                .content("Review " + id)
+                .rate(4)
+                .likeCount(0)
+                .build();
+    }
+}
@@ -0,0 +1,76 @@
+package com.karam.pubfinder;
+
+import com.karam.pubfinder.event.ReviewLikeChangedEvent;
+import com.karam.pubfinder.repository.ReviewLikeRepository;
+import com.karam.pubfinder.service.LikeStatusService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class LikeStatusServiceTest {
+
+    @Mock
+    private ReviewLikeRepository reviewLikeRepository;
+
+    private LikeStatusService likeStatusService;
+
+    @BeforeEach
+    void setUp() {
+        likeStatusService = new LikeStatusService(reviewLikeRepository, 60_000, 1_000);
+    }
+
+    @Test
+    void getLikedReviewIds_ReturnsLikedSubsetInRequestOrder() {
+        // Arrange
+        when(reviewLikeRepository.findLikedReviewIdsByUserIdAndReviewIdIn(1L, List.of(3L, 1L, 2L)))
+                .thenReturn(Set.of(1L, 3L));
+
+        // Act
+        List<Long> result = likeStatusService.getLikedReviewIds(1L, List.of(3L, 1L, 2L, 3L));
+
+        // Assert
+        assertEquals(List.of(3L, 1L), result);
+    }
+
+    @Test
+    void getLikedReviewIds_QueriesOnlyUncachedIds() {
+        // Arrange
+        when(reviewLikeRepository.findLikedReviewIdsByUserIdAndReviewIdIn(1L, List.of(1L, 2L))).thenReturn(Set.of(2L));
+        when(reviewLikeRepository.findLikedReviewIdsByUserIdAndReviewIdIn(1L, List.of(3L))).thenReturn(Set.of());
+        likeStatusService.getLikedReviewIds(1L, List.of(1L, 2L));
+
+        // Act
+        List<Long> result = likeStatusService.getLikedReviewIds(1L, List.of(1L, 2L, 3L));
+
+        // Assert
+        assertEquals(List.of(2L), result);
+        verify(reviewLikeRepository).findLikedReviewIdsByUserIdAndReviewIdIn(1L, List.of(3L));
+    }
+
+    @Test
+    void onReviewLikeChanged_EvictsOnlyThatUsersFlag() {
+        // Arrange
+        when(reviewLikeRepository.findLikedReviewIdsByUserIdAndReviewIdIn(1L, List.of(1L)))
+                .thenReturn(Set.of(), Set.of(1L));
+        when(reviewLikeRepository.findLikedReviewIdsByUserIdAndReviewIdIn(2L, List.of(1L))).thenReturn(Set.of());
+        likeStatusService.getLikedReviewIds(1L, List.of(1L));
+        likeStatusService.getLikedReviewIds(2L, List.of(1L));
+
+        // Act
+        likeStatusService.onReviewLikeChanged(new ReviewLikeChangedEvent(1L, 10L, 1L, true, 1));
+
+        // Assert
+        assertEquals(List.of(1L), likeStatusService.getLikedReviewIds(1L, List.of(1L)));
+        assertEquals(List.of(), likeStatusService.getLikedReviewIds(2L, List.of(1L)));
+        verify(reviewLikeRepository, times(1)).findLikedReviewIdsByUserIdAndReviewIdIn(2L, List.of(1L));
+    }
+}
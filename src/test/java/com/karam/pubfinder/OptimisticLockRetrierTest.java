@@ -0,0 +1,73 @@
+package com.karam.pubfinder;
+
+import com.karam.pubfinder.service.OptimisticLockRetrier;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OptimisticLockRetrierTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private OptimisticLockRetrier retrier;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        retrier = new OptimisticLockRetrier(meterRegistry, 3, 1, 2.0, 0.5);
+    }
+
+    @Test
+    void execute_ConflictThenSuccess_RetriesAndCountsConflict() {
+        // Arrange
+        AtomicInteger calls = new AtomicInteger();
+
+        // Act
+        String result = retrier.execute("like-review", () -> {
+            if (calls.incrementAndGet() == 1) {
+                throw new ObjectOptimisticLockingFailureException("Review", 1L);
+            }
+            return "liked";
+        });
+
+        // Assert
+        assertEquals("liked", result);
+        assertEquals(2, calls.get());
+        assertEquals(2.0, meterRegistry.get("db.optimistic-lock.attempts").tag("operation", "like-review").counter().count());
+        assertEquals(1.0, meterRegistry.get("db.optimistic-lock.conflicts").tag("operation", "like-review").counter().count());
+        assertEquals(0.0, meterRegistry.get("db.optimistic-lock.exhausted").tag("operation", "like-review").counter().count());
+    }
+
+    @Test
+    void execute_ConflictOnEveryAttempt_GivesUpAfterMaxAttempts() {
+        // Arrange
+        AtomicInteger calls = new AtomicInteger();
+
+        // Act & Assert
+        assertThrows(ObjectOptimisticLockingFailureException.class, () -> retrier.run("update-pub-rating", () -> {
+            calls.incrementAndGet();
+            throw new ObjectOptimisticLockingFailureException("Pub", 1L);
+        }));
+        assertEquals(3, calls.get());
+        assertEquals(3.0, meterRegistry.get("db.optimistic-lock.conflicts").tag("operation", "update-pub-rating").counter().count());
+        assertEquals(1.0, meterRegistry.get("db.optimistic-lock.exhausted").tag("operation", "update-pub-rating").counter().count());
+    }
+
+    @Test
+    void execute_OtherFailure_IsNotRetried() {
+        // Arrange
+        AtomicInteger calls = new AtomicInteger();
+
+        // Act & Assert
+        RuntimeException exception = assertThrows(RuntimeException.class, () -> retrier.run("delete-review", () -> {
+            calls.incrementAndGet();
+            throw new RuntimeException("Review not found or you don't have permission to delete it");
+        }));
+        assertTrue(exception.getMessage().startsWith("Review not found"));
+        assertEquals(1, calls.get());
+    }
+}
@@ -0,0 +1,167 @@
+package com.karam.pubfinder;
+
+import com.karam.pubfinder.dto.PubResponse;
+import com.karam.pubfinder.event.PubRatingChangedEvent;
+import com.karam.pubfinder.event.ReviewChangedEvent;
+import com.karam.pubfinder.service.PubCatalogCache;
+import com.karam.pubfinder.service.PubCatalogCache.CatalogPayload;
+import com.karam.pubfinder.service.PubService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PubCatalogCacheTest {
+
+    @Mock
+    private PubService pubService;
+
+    private PubCatalogCache pubCatalogCache;
+
+    @BeforeEach
+    void setUp() {
+        pubCatalogCache = new PubCatalogCache(pubService, JsonMapper.builder().build(), 60_000);
+    }
+
+    @Test
+    void get_BuildsOncePerSortOrderUntilRatingChanges() {
+        // Arrange
+        when(pubService.getAllPubs("desc")).thenReturn(List.of(pub(1L, "4.5")));
+
+        // Act
+        CatalogPayload first = pubCatalogCache.get("desc");
+        CatalogPayload second = pubCatalogCache.get("DESC");
+        pubCatalogCache.onPubRatingChanged(new PubRatingChangedEvent(1L, BigDecimal.ONE));
+        CatalogPayload rebuilt = pubCatalogCache.get("desc");
+
+        // Assert
+        assertSame(first, second);
+        assertNotSame(first, rebuilt);
+        verify(pubService, times(2)).getAllPubs("desc");
+    }
+
+    @Test
+    void get_UnknownSortSharesUnsortedEntry() {
+        // Arrange
+        when(pubService.getAllPubs("")).thenReturn(List.of(pub(1L, "4.5")));
+
+        // Act
+        CatalogPayload unsorted = pubCatalogCache.get(null);
+        CatalogPayload unknown = pubCatalogCache.get("rating");
+
+        // Assert
+        assertSame(unsorted, unknown);
+        verify(pubService, times(1)).getAllPubs("");
+    }
+
+    @Test
+    void get_GzipVariantInflatesToJsonBody() throws IOException {
+        // Arrange
+        when(pubService.getAllPubs("asc")).thenReturn(List.of(pub(1L, "3.0"), pub(2L, "4.0")));
+
+        // Act
+        CatalogPayload payload = pubCatalogCache.get("asc");
+
+        // Assert
+        try (GZIPInputStream gzip = new GZIPInputStream(new ByteArrayInputStream(payload.gzip()))) {
+            assertArrayEquals(payload.json(), gzip.readAllBytes());
+        }
+        assertTrue(new String(payload.json()).contains("\"title\":\"Pub 2\""));
+        assertTrue(payload.etag().startsWith("\""));
+    }
+
+    @Test
+    void get_GzipVariantHasItsOwnEtag() {
+        // Arrange
+        when(pubService.getAllPubs("")).thenReturn(List.of(pub(1L, "4.5")));
+
+        // Act
+        CatalogPayload payload = pubCatalogCache.get(null);
+
+        // Assert
+        assertNotEquals(payload.etag(), payload.gzipEtag());
+        assertTrue(payload.gzipEtag().startsWith("\"") && payload.gzipEtag().endsWith("-gzip\""));
+    }
+
+    @Test
+    void get_BinaryEncodingsHaveEtagsOfTheirOwnBytes() {
+        // Arrange
+        when(pubService.getAllPubs("")).thenReturn(List.of(pub(1L, "4.5")));
+        when(pubService.getAllPubs("asc")).thenReturn(List.of(pub(1L, "4.6")));
+
+        // Act
+        CatalogPayload payload = pubCatalogCache.get(null);
+        CatalogPayload other = pubCatalogCache.get("asc");
+
+        // Assert
+        assertTrue(payload.cbor().length > 0 && payload.smile().length > 0);
+        assertEquals(3, Set.of(payload.etag(), payload.cborEtag(), payload.smileEtag()).size());
+        assertNotEquals(payload.cborEtag(), other.cborEtag());
+    }
+
+    @Test
+    void get_ReviewMovedStars_Rebuilds() {
+        // Arrange
+        when(pubService.getAllPubs("")).thenReturn(List.of(pub(1L, "4.5")));
+        CatalogPayload first = pubCatalogCache.get(null);
+
+        // Act
+        pubCatalogCache.onReviewChanged(new ReviewChangedEvent(9L, 1L, ReviewChangedEvent.Type.UPDATED, false));
+        CatalogPayload afterTextEdit = pubCatalogCache.get(null);
+        pubCatalogCache.onReviewChanged(new ReviewChangedEvent(9L, 1L, ReviewChangedEvent.Type.CREATED, true));
+        CatalogPayload afterNewReview = pubCatalogCache.get(null);
+
+        // Assert
+        assertSame(first, afterTextEdit);
+        assertNotSame(first, afterNewReview);
+        verify(pubService, times(2)).getAllPubs("");
+    }
+
+    @Test
+    void get_ConcurrentMissesShareOneBuild() throws Exception {
+        // Arrange
+        CountDownLatch building = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(pubService.getAllPubs("")).thenAnswer(invocation -> {
+            building.countDown();
+            release.await();
+            return List.of(pub(1L, "4.5"));
+        });
+
+        // Act
+        CompletableFuture<CatalogPayload> first = CompletableFuture.supplyAsync(() -> pubCatalogCache.get(null));
+        building.await();
+        CompletableFuture<CatalogPayload> second = CompletableFuture.supplyAsync(() -> pubCatalogCache.get(null));
+        // Give the second caller time to join the build in flight
+        Thread.sleep(100);
+        release.countDown();
+
+        // Assert
+        assertSame(first.get(5, TimeUnit.SECONDS), second.get(5, TimeUnit.SECONDS));
+        verify(pubService, times(1)).getAllPubs("");
+    }
+
+    private PubResponse pub(Long id, String rating) {
+        return PubResponse.builder()
+                .id(id)
+                .title("Pub " + id)
+                .rating(new BigDecimal(rating))
+                .build();
+    }
+}
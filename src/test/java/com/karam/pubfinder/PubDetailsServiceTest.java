@@ -0,0 +1,102 @@
+package com.karam.pubfinder;
+
+import com.karam.pubfinder.dto.PubDetailsResponse;
+import com.karam.pubfinder.dto.PubResponse;
+import com.karam.pubfinder.dto.ReviewResponse;
+import com.karam.pubfinder.service.PubDetailsService;
+import com.karam.pubfinder.service.PubService;
+import com.karam.pubfinder.service.ReviewService;
+import com.karam.pubfinder.utils.DegradedReads;
+import com.karam.pubfinder.utils.SqlStatementStats;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PubDetailsServiceTest {
+
+    @Mock
+    private PubService pubService;
+
+    @Mock
+    private ReviewService reviewService;
+
+    @InjectMocks
+    private PubDetailsService pubDetailsService;
+
+    @AfterEach
+    void tearDown() {
+        SqlStatementStats.clear();
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    void getPubDetails_CombinesPubAndFirstPage() {
+        // Arrange
+        when(pubService.getPubById(1L)).thenReturn(PubResponse.builder().id(1L).title("The Red Lion").build());
+        ReviewResponse review = ReviewResponse.builder().id(9L).rate(5).isLikedByCurrentUser(true).build();
+        when(reviewService.getReviewPageByPubId(1L, 0, 1, 7L))
+                .thenReturn(new SliceImpl<>(List.of(review), PageRequest.of(0, 1), true));
+
+        // Act
+        PubDetailsResponse result = pubDetailsService.getPubDetails(1L, 0, 1, 7L);
+
+        // Assert
+        assertEquals("The Red Lion", result.getPub().getTitle());
+        assertEquals(List.of(review), result.getReviews());
+        assertTrue(result.isHasMore());
+    }
+
+    @Test
+    void getPubDetails_PubNotFound_ThrowsOriginalException() {
+        // Arrange
+        when(pubService.getPubById(99L)).thenThrow(new RuntimeException("Pub not found with id: 99"));
+        lenient().when(reviewService.getReviewPageByPubId(99L, 0, 20, null))
+                .thenReturn(new SliceImpl<>(Collections.emptyList()));
+
+        // Act & Assert
+        RuntimeException exception = assertThrows(RuntimeException.class,
+                () -> pubDetailsService.getPubDetails(99L, 0, 20, null));
+        assertEquals("Pub not found with id: 99", exception.getMessage());
+    }
+
+    @Test
+    void getPubDetails_TasksCountTowardsAndMarkTheCallersRequest() {
+        // Arrange
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest(), response));
+        SqlStatementStats stats = SqlStatementStats.reset();
+        when(pubService.getPubById(1L)).thenAnswer(invocation -> {
+            SqlStatementStats.current().record(2L);
+            DegradedReads.markStale(System.currentTimeMillis());
+            return PubResponse.builder().id(1L).build();
+        });
+        when(reviewService.getReviewPageByPubId(1L, 0, 20, null)).thenAnswer(invocation -> {
+            SqlStatementStats.current().record(3L);
+            return new SliceImpl<>(Collections.<ReviewResponse>emptyList());
+        });
+
+        // Act
+        pubDetailsService.getPubDetails(1L, 0, 20, null);
+
+        // Assert
+        assertEquals(2, stats.getStatementCount());
+        assertEquals(5L, stats.getJdbcTimeMillis());
+        assertNotNull(response.getHeader(DegradedReads.STALE_HEADER));
+    }
+}
@@ -0,0 +1,86 @@
+package com.karam.pubfinder;
+
+import com.karam.pubfinder.event.PubRatingChangedEvent;
+import com.karam.pubfinder.event.ReviewChangedEvent;
+import com.karam.pubfinder.service.ClusterEventBus;
+import com.karam.pubfinder.service.PubEventBroadcaster;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.math.BigDecimal;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class PubEventBroadcasterTest {
+
+    private final ClusterEventBus clusterEventBus = mock(ClusterEventBus.class);
+    private final JsonMapper jsonMapper = JsonMapper.builder().build();
+
+    @Test
+    void subscribe_OverNodeLimit_ReturnsNull() {
+        // Arrange
+        PubEventBroadcaster broadcaster = new PubEventBroadcaster(clusterEventBus, jsonMapper, 60_000, 8, 2, new SimpleMeterRegistry());
+
+        // Act
+        SseEmitter first = broadcaster.subscribe(1L);
+        SseEmitter second = broadcaster.subscribe(2L);
+        SseEmitter third = broadcaster.subscribe(1L);
+
+        // Assert
+        assertNotNull(first);
+        assertNotNull(second);
+        assertNull(third);
+        assertEquals(2, broadcaster.getSubscriberCount());
+    }
+
+    @Test
+    void events_ForPubsWithoutSubscribers_AreIgnored() {
+        // Arrange
+        PubEventBroadcaster broadcaster = new PubEventBroadcaster(clusterEventBus, jsonMapper, 60_000, 8, 10, new SimpleMeterRegistry());
+        broadcaster.subscribe(1L);
+
+        // Act & Assert
+        assertDoesNotThrow(() -> {
+            broadcaster.onReviewChanged(new ReviewChangedEvent(5L, 2L, ReviewChangedEvent.Type.CREATED, true));
+            broadcaster.onPubRatingChanged(new PubRatingChangedEvent(2L, BigDecimal.ONE));
+            broadcaster.sendHeartbeats();
+        });
+        assertEquals(1, broadcaster.getSubscriberCount());
+    }
+
+    @Test
+    void events_ArePublishedToTheOtherNodes() {
+        // Arrange
+        PubEventBroadcaster broadcaster = new PubEventBroadcaster(clusterEventBus, jsonMapper, 60_000, 8, 10, new SimpleMeterRegistry());
+
+        // Act
+        broadcaster.onPubRatingChanged(new PubRatingChangedEvent(2L, new BigDecimal("4.5")));
+
+        // Assert
+        verify(clusterEventBus).publish("pubfinder_pub_events", "2 rating-changed {\"rating\":4.5}");
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void resync_ClosesEveryStreamSoClientsReload() {
+        // Arrange
+        PubEventBroadcaster broadcaster = new PubEventBroadcaster(clusterEventBus, jsonMapper, 60_000, 8, 10, new SimpleMeterRegistry());
+        ArgumentCaptor<Runnable> onResync = ArgumentCaptor.forClass(Runnable.class);
+        verify(clusterEventBus).subscribe(eq("pubfinder_pub_events"), any(Consumer.class), onResync.capture());
+        broadcaster.subscribe(1L);
+        broadcaster.subscribe(2L);
+
+        // Act
+        onResync.getValue().run();
+
+        // Assert
+        assertEquals(0, broadcaster.getSubscriberCount());
+    }
+}
@@ -0,0 +1,93 @@
+package com.karam.pubfinder;
+
+import com.karam.pubfinder.event.ReviewChangedEvent;
+import com.karam.pubfinder.service.OptimisticLockRetrier;
+import com.karam.pubfinder.service.PubRatingUpdater;
+import com.karam.pubfinder.service.ReviewService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PubRatingUpdaterTest {
+
+    @Mock
+    private ReviewService reviewService;
+
+    private PubRatingUpdater pubRatingUpdater;
+
+    @BeforeEach
+    void setUp() {
+        pubRatingUpdater = new PubRatingUpdater(reviewService,
+                new OptimisticLockRetrier(new SimpleMeterRegistry(), 3, 1, 2.0, 0.5));
+    }
+
+    @Test
+    void schedule_WhileRunning_CoalescesIntoOneMoreRun() throws Exception {
+        // Arrange
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger runs = new AtomicInteger();
+        doAnswer(invocation -> {
+            if (runs.incrementAndGet() == 1) {
+                started.countDown();
+                release.await();
+            }
+            return null;
+        }).when(reviewService).updatePubRating(1L);
+
+        pubRatingUpdater.schedule(1L);
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        // Act
+        pubRatingUpdater.schedule(1L);
+        pubRatingUpdater.schedule(1L);
+        pubRatingUpdater.schedule(1L);
+        release.countDown();
+
+        // Assert
+        verify(reviewService, timeout(5000).times(2)).updatePubRating(1L);
+        verify(reviewService, after(200).times(2)).updatePubRating(1L);
+    }
+
+    @Test
+    void onReviewChanged_TextOnlyEdit_DoesNotRecompute() {
+        // Act
+        pubRatingUpdater.onReviewChanged(new ReviewChangedEvent(1L, 1L, ReviewChangedEvent.Type.UPDATED, false));
+
+        // Assert
+        verify(reviewService, after(200).never()).updatePubRating(anyLong());
+    }
+
+    @Test
+    void retryFailed_RequeuesPubsWhoseRecomputeFailed() throws Exception {
+        // Arrange
+        doThrow(new IllegalStateException("connection reset"))
+                .doNothing()
+                .when(reviewService).updatePubRating(1L);
+        pubRatingUpdater.schedule(1L);
+        verify(reviewService, timeout(5000).times(1)).updatePubRating(1L);
+
+        // Act: the failure is recorded just after the call returns, so keep passing until it is picked up
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (mockingDetails(reviewService).getInvocations().size() < 2 && System.nanoTime() < deadline) {
+            pubRatingUpdater.retryFailed();
+            Thread.sleep(10);
+        }
+
+        // Assert: retried once, and not again after it succeeded
+        verify(reviewService, timeout(5000).times(2)).updatePubRating(1L);
+        pubRatingUpdater.retryFailed();
+        verify(reviewService, after(200).times(2)).updatePubRating(1L);
+    }
+}
@@ -2,12 +2,16 @@ package com.karam.pubfinder;
 
 import com.karam.pubfinder.dto.PubResponse;
 import com.karam.pubfinder.entity.Pub;
+import com.karam.pubfinder.entity.PubRatingStats;
+import com.karam.pubfinder.repository.DataBackfillRepository;
+import com.karam.pubfinder.repository.PubRatingStatsRepository;
 import com.karam.pubfinder.repository.PubRepository;
 import com.karam.pubfinder.service.PubService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
@@ -17,6 +21,7 @@ import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -30,6 +35,12 @@ class PubServiceTest {
     @Mock
     private PubRepository pubRepository;
 
+    @Mock
+    private PubRatingStatsRepository pubRatingStatsRepository;
+
+    @Mock
+    private DataBackfillRepository dataBackfillRepository;
+
     @InjectMocks
     private PubService pubService;
 
@@ -420,4 +431,74 @@ class PubServiceTest {
         assertNotNull(result);
         assertThat(result.getRating()).isEqualByComparingTo(new BigDecimal("4.567"));
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Should expose the star distribution and review count of a pub")
+    void getPubById_WithRatingStats_ReturnsHistogram() {
+        // Arrange
+        when(pubRepository.findById(1L)).thenReturn(Optional.of(pub1));
+        when(pubRatingStatsRepository.findById(1L)).thenReturn(Optional.of(PubRatingStats.builder()
+                .pubId(1L)
+                .stars4(2)
+                .stars5(3)
+                .build()));
+
+        // Act
+        PubResponse result = pubService.getPubById(1L);
+
+        // Assert
+        assertEquals(Map.of(0, 0L, 1, 0L, 2, 0L, 3, 0L, 4, 2L, 5, 3L), result.getRatingHistogram());
+        assertEquals(5L, result.getReviewCount());
+    }
+
+    @Test
+    @DisplayName("Should report an all-zero histogram for pubs without stats")
+    void getAllPubs_PubWithoutRatingStats_ReturnsZeroHistogram() {
+        // Arrange
+        when(pubRepository.findAll()).thenReturn(List.of(pub1, pub2));
+        when(pubRatingStatsRepository.findAll()).thenReturn(List.of(PubRatingStats.builder()
+                .pubId(1L)
+                .stars1(1)
+                .build()));
+
+        // Act
+        List<PubResponse> result = pubService.getAllPubs(null);
+
+        // Assert
+        assertEquals(1L, result.get(0).getRatingHistogram().get(1));
+        assertEquals(1L, result.get(0).getReviewCount());
+        assertEquals(6, result.get(1).getRatingHistogram().size());
+        assertEquals(0L, result.get(1).getReviewCount());
+        verify(pubRatingStatsRepository, times(1)).findAll();
+    }
+
+    @Test
+    @DisplayName("Should return requested pubs in request order, skipping unknown ids")
+    void getPubsByIds_KeepsRequestOrder() {
+        // Arrange
+        List<Long> ids = List.of(3L, 404L, 1L);
+        when(pubRepository.findAllById(ids)).thenReturn(List.of(pub1, pub3));
+
+        // Act
+        List<PubResponse> result = pubService.getPubsByIds(ids);
+
+        // Assert
+        assertEquals(List.of(3L, 1L), result.stream().map(PubResponse::getId).toList());
+        verify(pubRepository, times(1)).findAllById(ids);
+        verify(pubRatingStatsRepository, times(1)).findAllById(anyCollection());
+    }
+
+    @Test
+    @DisplayName("Should recount a pub's rating stats only while holding its stats row lock")
+    void repairRatingStats_LocksRowThenRecountsThatPub() {
+        // Act
+        pubService.repairRatingStats(2L);
+
+        // Assert
+        InOrder inOrder = inOrder(pubRatingStatsRepository);
+        inOrder.verify(pubRatingStatsRepository).insertIfMissing(2L);
+        inOrder.verify(pubRatingStatsRepository).lockByPubId(2L);
+        inOrder.verify(pubRatingStatsRepository).recountFromReviews(2L);
+        verifyNoMoreInteractions(pubRatingStatsRepository);
+    }
+}
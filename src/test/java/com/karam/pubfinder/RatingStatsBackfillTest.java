@@ -0,0 +1,54 @@
+package com.karam.pubfinder;
+
+import com.karam.pubfinder.service.PubService;
+import com.karam.pubfinder.service.RatingStatsBackfill;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RatingStatsBackfillTest {
+
+    @Mock
+    private PubService pubService;
+
+    @InjectMocks
+    private RatingStatsBackfill ratingStatsBackfill;
+
+    @Test
+    void afterSingletonsInstantiated_RepairsEachPubThenRecordsCompletion() {
+        // Arrange
+        when(pubService.isBackfillCompleted("pub_rating_stats")).thenReturn(false);
+        when(pubService.getAllPubIds()).thenReturn(List.of(1L, 2L));
+
+        // Act
+        ratingStatsBackfill.afterSingletonsInstantiated();
+
+        // Assert
+        InOrder inOrder = inOrder(pubService);
+        inOrder.verify(pubService).repairRatingStats(1L);
+        inOrder.verify(pubService).repairRatingStats(2L);
+        inOrder.verify(pubService).markBackfillCompleted("pub_rating_stats");
+    }
+
+    @Test
+    void afterSingletonsInstantiated_SkipsOnceCompleted() {
+        // Arrange
+        when(pubService.isBackfillCompleted("pub_rating_stats")).thenReturn(true);
+
+        // Act
+        ratingStatsBackfill.afterSingletonsInstantiated();
+
+        // Assert
+        verify(pubService, never()).repairRatingStats(anyLong());
+        verify(pubService, never()).markBackfillCompleted(any());
+    }
+}
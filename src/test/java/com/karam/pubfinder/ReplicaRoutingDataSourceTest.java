@@ -0,0 +1,136 @@
+package com.karam.pubfinder;
+
+import com.karam.pubfinder.config.ReadYourWritesTracker;
+import com.karam.pubfinder.config.ReplicaRoutingDataSource;
+import com.karam.pubfinder.config.ReplicaRoutingDataSource.Strategy;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class ReplicaRoutingDataSourceTest {
+
+    private DataSource primary;
+    private DataSource replicaA;
+    private DataSource replicaB;
+    private Connection primaryConnection;
+    private Connection replicaAConnection;
+    private Connection replicaBConnection;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        primary = mock(DataSource.class);
+        replicaA = mock(DataSource.class);
+        replicaB = mock(DataSource.class);
+        primaryConnection = mock(Connection.class);
+        replicaAConnection = mock(Connection.class);
+        replicaBConnection = mock(Connection.class);
+        when(primary.getConnection()).thenReturn(primaryConnection);
+        when(replicaA.getConnection()).thenReturn(replicaAConnection);
+        when(replicaB.getConnection()).thenReturn(replicaBConnection);
+    }
+
+    @Test
+    void getConnection_RoundRobinAlternatesReplicas() throws SQLException {
+        // Arrange
+        ReplicaRoutingDataSource router = new ReplicaRoutingDataSource(primary, List.of(replicaA, replicaB),
+                Strategy.ROUND_ROBIN, () -> false);
+
+        // Act
+        router.getConnection().close();
+        router.getConnection().close();
+        router.getConnection().close();
+
+        // Assert
+        verify(replicaA, times(2)).getConnection();
+        verify(replicaB, times(1)).getConnection();
+        verify(primary, never()).getConnection();
+    }
+
+    @Test
+    void getConnection_LeastBusyAvoidsReplicaWithOpenConnection() throws SQLException {
+        // Arrange
+        ReplicaRoutingDataSource router = new ReplicaRoutingDataSource(primary, List.of(replicaA, replicaB),
+                Strategy.fromProperty("least-busy"), () -> false);
+        Connection held = router.getConnection();
+
+        // Act
+        router.getConnection().close();
+        router.getConnection().close();
+
+        // Assert: both follow-up reads skip the replica the first one is still holding
+        verify(replicaA, times(1)).getConnection();
+        verify(replicaB, times(2)).getConnection();
+        held.close();
+        verify(replicaAConnection).close();
+    }
+
+    @Test
+    void getConnection_SkipsFailingReplicaAndFallsBackToPrimary() throws SQLException {
+        // Arrange
+        when(replicaA.getConnection()).thenThrow(new SQLTransientConnectionException("down"));
+        when(replicaB.getConnection()).thenThrow(new SQLTransientConnectionException("down"));
+        ReplicaRoutingDataSource router = new ReplicaRoutingDataSource(primary, List.of(replicaA, replicaB),
+                Strategy.ROUND_ROBIN, () -> false);
+
+        // Act
+        Connection connection = router.getConnection();
+
+        // Assert
+        assertSame(primaryConnection, connection);
+        verify(replicaA).getConnection();
+        verify(replicaB).getConnection();
+    }
+
+    @Test
+    void getConnection_StickyCallerReadsFromPrimaryUntilWindowPasses() throws SQLException {
+        // Arrange
+        AtomicLong clock = new AtomicLong();
+        ReadYourWritesTracker tracker = new ReadYourWritesTracker(5_000, clock::get);
+        ReplicaRoutingDataSource router = new ReplicaRoutingDataSource(primary, List.of(replicaA),
+                Strategy.ROUND_ROBIN, () -> tracker.isSticky(42L));
+
+        // Act
+        tracker.recordWrite(42L);
+        Connection duringWindow = router.getConnection();
+        clock.addAndGet(Duration.ofSeconds(6).toNanos());
+        router.getConnection();
+
+        // Assert
+        assertSame(primaryConnection, duringWindow);
+        assertFalse(tracker.isSticky(7L));
+        verify(primary, times(1)).getConnection();
+        verify(replicaA, times(1)).getConnection();
+    }
+
+    @Test
+    void getConnection_WithCredentials_RoutesLikeTheDefaultOverload() throws SQLException {
+        // Arrange
+        when(replicaA.getConnection("reader", "secret")).thenReturn(replicaAConnection);
+        when(primary.getConnection("reader", "secret")).thenReturn(primaryConnection);
+        AtomicBoolean sticky = new AtomicBoolean();
+        ReplicaRoutingDataSource router = new ReplicaRoutingDataSource(primary, List.of(replicaA),
+                Strategy.ROUND_ROBIN, sticky::get);
+
+        // Act
+        Connection fromReplica = router.getConnection("reader", "secret");
+        sticky.set(true);
+        Connection fromPrimary = router.getConnection("reader", "secret");
+
+        // Assert
+        assertNotNull(fromReplica);
+        assertSame(primaryConnection, fromPrimary);
+        verify(replicaA).getConnection("reader", "secret");
+        verify(replicaA, never()).getConnection();
+    }
+}
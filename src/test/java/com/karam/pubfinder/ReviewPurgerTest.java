@@ -0,0 +1,122 @@
+package com.karam.pubfinder;
+
+import com.karam.pubfinder.repository.ReviewLikeRepository;
+import com.karam.pubfinder.repository.ReviewRepository;
+import com.karam.pubfinder.service.ReviewPurger;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReviewPurgerTest {
+
+    @Mock
+    private ReviewRepository reviewRepository;
+
+    @Mock
+    private ReviewLikeRepository reviewLikeRepository;
+
+    @Mock
+    private DataSource dataSource;
+
+    private SimpleMeterRegistry meterRegistry;
+    private AtomicInteger activeConnections;
+    private ReviewPurger reviewPurger;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        activeConnections = new AtomicInteger();
+        Gauge.builder("hikaricp.connections.active", activeConnections, AtomicInteger::get).register(meterRegistry);
+        reviewPurger = new ReviewPurger(reviewRepository, reviewLikeRepository, meterRegistry, dataSource, 10, 2, 0, 1);
+    }
+
+    @Test
+    void purgePending_DeletesLikesInBatchesThenTheReview() {
+        // Arrange
+        when(reviewRepository.findIdsPendingPurge(10)).thenReturn(List.of(7L));
+        when(reviewLikeRepository.deleteBatchByReviewId(7L, 2)).thenReturn(2, 2, 1);
+        when(reviewRepository.deletePurged(7L)).thenReturn(1);
+
+        // Act
+        reviewPurger.purgePending();
+
+        // Assert
+        InOrder inOrder = inOrder(reviewLikeRepository, reviewRepository);
+        inOrder.verify(reviewLikeRepository, times(3)).deleteBatchByReviewId(7L, 2);
+        inOrder.verify(reviewRepository).deletePurged(7L);
+        assertEquals(5.0, meterRegistry.counter("review-likes.purged").count());
+        assertEquals(1.0, meterRegistry.counter("reviews.purged").count());
+    }
+
+    @Test
+    void purgePending_NodeBusy_LeavesEverythingForTheNextRun() {
+        // Arrange
+        activeConnections.set(5);
+
+        // Act
+        reviewPurger.purgePending();
+
+        // Assert
+        verifyNoInteractions(reviewRepository, reviewLikeRepository);
+    }
+
+    @Test
+    void purgePending_NodeGetsBusyMidway_StopsBeforeTheNextBatch() {
+        // Arrange
+        when(reviewRepository.findIdsPendingPurge(10)).thenReturn(List.of(7L, 8L));
+        when(reviewLikeRepository.deleteBatchByReviewId(7L, 2)).thenAnswer(invocation -> {
+            activeConnections.set(5);
+            return 2;
+        });
+
+        // Act
+        reviewPurger.purgePending();
+
+        // Assert
+        verify(reviewLikeRepository, times(1)).deleteBatchByReviewId(anyLong(), anyInt());
+        verify(reviewRepository, never()).deletePurged(anyLong());
+    }
+
+    @Test
+    void createPendingPurgeIndex_InvalidIndex_DropsAndRebuildsIt() throws Exception {
+        // Arrange: lock granted, index left INVALID by an earlier build
+        Connection connection = mock(Connection.class);
+        Statement statement = mock(Statement.class);
+        ResultSet locked = mock(ResultSet.class);
+        ResultSet invalid = mock(ResultSet.class);
+        when(dataSource.getConnection()).thenReturn(connection);
+        when(connection.createStatement()).thenReturn(statement);
+        when(statement.executeQuery(startsWith("SELECT pg_try_advisory_lock"))).thenReturn(locked);
+        when(locked.next()).thenReturn(true);
+        when(locked.getBoolean(1)).thenReturn(true);
+        when(statement.executeQuery(startsWith("SELECT indisvalid"))).thenReturn(invalid);
+        when(invalid.next()).thenReturn(true);
+        when(invalid.getBoolean(1)).thenReturn(false);
+
+        // Act
+        reviewPurger.createPendingPurgeIndex();
+
+        // Assert
+        InOrder inOrder = inOrder(statement);
+        inOrder.verify(statement, timeout(5000)).execute(startsWith("DROP INDEX CONCURRENTLY"));
+        inOrder.verify(statement, timeout(5000)).execute(startsWith("CREATE INDEX CONCURRENTLY"));
+        inOrder.verify(statement, timeout(5000)).execute(startsWith("SELECT pg_advisory_unlock"));
+    }
+}
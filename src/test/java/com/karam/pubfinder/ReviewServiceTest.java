@@ -3,9 +3,13 @@ package com.karam.pubfinder;
 import com.karam.pubfinder.dto.ReviewRequest;
 import com.karam.pubfinder.dto.ReviewResponse;
 import com.karam.pubfinder.entity.Pub;
+import com.karam.pubfinder.entity.PubRatingStats;
 import com.karam.pubfinder.entity.Review;
-import com.karam.pubfinder.entity.ReviewLike;
 import com.karam.pubfinder.entity.User;
+import com.karam.pubfinder.event.PubRatingChangedEvent;
+import com.karam.pubfinder.event.ReviewChangedEvent;
+import com.karam.pubfinder.event.ReviewLikeChangedEvent;
+import com.karam.pubfinder.repository.PubRatingStatsRepository;
 import com.karam.pubfinder.repository.PubRepository;
 import com.karam.pubfinder.repository.ReviewLikeRepository;
 import com.karam.pubfinder.repository.ReviewRepository;
@@ -17,6 +21,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
@@ -41,6 +46,12 @@ class ReviewServiceTest {
     @Mock
     private ReviewLikeRepository reviewLikeRepository;
 
+    @Mock
+    private PubRatingStatsRepository pubRatingStatsRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private ReviewService reviewService;
 
@@ -87,8 +98,6 @@ class ReviewServiceTest {
         when(userRepository.findById(anyLong())).thenReturn(Optional.of(user));
         when(pubRepository.findById(anyLong())).thenReturn(Optional.of(pub));
         when(reviewRepository.save(any(Review.class))).thenReturn(review);
-        when(reviewLikeRepository.existsByReviewIdAndUserId(anyLong(), anyLong())).thenReturn(false);
-        when(reviewRepository.findByPubId(anyLong())).thenReturn(Arrays.asList(review));
 
         // Act
         ReviewResponse result = reviewService.createReview(reviewRequest, 1L);
@@ -102,9 +111,12 @@ class ReviewServiceTest {
         assertFalse(result.isLikedByCurrentUser());
 
         verify(userRepository).findById(1L);
-        verify(pubRepository, times(2)).findById(1L); // Once for review, once for rating update
+        verify(pubRepository).findById(1L);
         verify(reviewRepository).save(any(Review.class));
-        verify(pubRepository).save(any(Pub.class)); // Rating update
+        verify(pubRatingStatsRepository).applyDelta(1L, 5, 1);
+        verify(pubRepository, never()).save(any(Pub.class)); // Rating is recomputed after commit
+        verify(eventPublisher).publishEvent(new ReviewChangedEvent(1L, 1L, ReviewChangedEvent.Type.CREATED, true));
+        verify(reviewLikeRepository, never()).existsByReviewIdAndUserId(anyLong(), anyLong());
     }
 
     @Test
@@ -234,6 +246,32 @@ class ReviewServiceTest {
         verify(reviewRepository).findByPubId(1L);
     }
 
+    @Test
+    void getReviewsByIds_KeepsRequestOrderAndSkipsUnknownIds() {
+        // Arrange
+        Review other = Review.builder()
+                .id(2L)
+                .user(user)
+                .pub(pub)
+                .content("Decent")
+                .rate(3)
+                .likeCount(1)
+                .build();
+        List<Long> ids = List.of(2L, 99L, 1L);
+        when(reviewRepository.findByIdIn(ids)).thenReturn(Arrays.asList(review, other));
+        when(reviewLikeRepository.findLikedReviewIdsByUserIdAndReviewIdIn(eq(1L), anyCollection()))
+                .thenReturn(Set.of(2L));
+
+        // Act
+        List<ReviewResponse> result = reviewService.getReviewsByIds(ids, 1L);
+
+        // Assert
+        assertEquals(List.of(2L, 1L), result.stream().map(ReviewResponse::getId).toList());
+        assertTrue(result.get(0).isLikedByCurrentUser());
+        assertFalse(result.get(1).isLikedByCurrentUser());
+        verify(reviewLikeRepository, never()).existsByReviewIdAndUserId(anyLong(), anyLong());
+    }
+
     @Test
     void getReviewsByUserId_Success() {
         // Arrange
@@ -263,9 +301,6 @@ class ReviewServiceTest {
 
         when(reviewRepository.findByIdAndUserId(anyLong(), anyLong())).thenReturn(Optional.of(review));
         when(reviewRepository.save(any(Review.class))).thenReturn(review);
-        when(reviewLikeRepository.existsByReviewIdAndUserId(anyLong(), anyLong())).thenReturn(false);
-        when(reviewRepository.findByPubId(anyLong())).thenReturn(Arrays.asList(review));
-        when(pubRepository.findById(anyLong())).thenReturn(Optional.of(pub));
 
         // Act
         ReviewResponse result = reviewService.updateReview(1L, updateRequest, 1L);
@@ -274,7 +309,47 @@ class ReviewServiceTest {
         assertNotNull(result);
         verify(reviewRepository).findByIdAndUserId(1L, 1L);
         verify(reviewRepository).save(any(Review.class));
-        verify(pubRepository).save(any(Pub.class)); // Rating update
+        verify(pubRatingStatsRepository).moveRate(1L, 5, 4);
+        verify(eventPublisher).publishEvent(new ReviewChangedEvent(1L, 1L, ReviewChangedEvent.Type.UPDATED, true));
+        // Nobody has liked the review, so there is no flag to look up
+        verifyNoInteractions(reviewLikeRepository);
+    }
+
+    @Test
+    void updateReview_LikedReview_LooksUpOwnLike() {
+        // Arrange
+        review.setLikeCount(3);
+        when(reviewRepository.findByIdAndUserId(anyLong(), anyLong())).thenReturn(Optional.of(review));
+        when(reviewRepository.save(any(Review.class))).thenReturn(review);
+        when(reviewLikeRepository.existsByReviewIdAndUserId(1L, 1L)).thenReturn(true);
+
+        // Act
+        ReviewResponse result = reviewService.updateReview(1L, reviewRequest, 1L);
+
+        // Assert
+        assertTrue(result.isLikedByCurrentUser());
+        assertEquals(3, result.getLikeCount());
+    }
+
+    @Test
+    void updateReview_SameRate_SkipsRatingUpdate() {
+        // Arrange
+        ReviewRequest updateRequest = ReviewRequest.builder()
+                .pubId(1L)
+                .content("Updated review")
+                .rate(5)
+                .build();
+
+        when(reviewRepository.findByIdAndUserId(anyLong(), anyLong())).thenReturn(Optional.of(review));
+        when(reviewRepository.save(any(Review.class))).thenReturn(review);
+
+        // Act
+        ReviewResponse result = reviewService.updateReview(1L, updateRequest, 1L);
+
+        // Assert
+        assertEquals("Updated review", result.getContent());
+        verifyNoInteractions(pubRatingStatsRepository);
+        verify(eventPublisher).publishEvent(new ReviewChangedEvent(1L, 1L, ReviewChangedEvent.Type.UPDATED, false));
     }
 
     @Test
@@ -295,16 +370,20 @@ class ReviewServiceTest {
     void deleteReview_Success() {
         // Arrange
         when(reviewRepository.findByIdAndUserId(anyLong(), anyLong())).thenReturn(Optional.of(review));
-        when(reviewRepository.findByPubId(anyLong())).thenReturn(Collections.emptyList());
-        when(pubRepository.findById(anyLong())).thenReturn(Optional.of(pub));
+        when(reviewRepository.save(any(Review.class))).thenReturn(review);
 
         // Act
         reviewService.deleteReview(1L, 1L);
 
         // Assert
         verify(reviewRepository).findByIdAndUserId(1L, 1L);
-        verify(reviewRepository).delete(review);
-        verify(pubRepository).save(any(Pub.class)); // Rating update
+        assertNotNull(review.getDeletedAt());
+        verify(reviewRepository).save(review);
+        // Likes and the row are left to ReviewPurger
+        verifyNoInteractions(reviewLikeRepository);
+        verify(reviewRepository, never()).delete(any(Review.class));
+        verify(pubRatingStatsRepository).applyDelta(1L, 5, -1);
+        verify(eventPublisher).publishEvent(new ReviewChangedEvent(1L, 1L, ReviewChangedEvent.Type.DELETED, true));
     }
 
     @Test
@@ -318,16 +397,15 @@ class ReviewServiceTest {
 
         assertTrue(exception.getMessage().contains("Review not found or you don't have permission"));
         verify(reviewRepository).findByIdAndUserId(1L, 1L);
-        verify(reviewRepository, never()).delete(any(Review.class));
+        verify(reviewRepository, never()).save(any(Review.class));
     }
 
     @Test
     void likeReview_Success() {
         // Arrange
-        when(reviewRepository.findById(anyLong())).thenReturn(Optional.of(review));
-        when(userRepository.findById(anyLong())).thenReturn(Optional.of(user));
-        when(reviewLikeRepository.existsByReviewIdAndUserId(anyLong(), anyLong())).thenReturn(false);
-        when(reviewRepository.save(any(Review.class))).thenReturn(review);
+        when(reviewRepository.findWithUserAndPubById(anyLong())).thenReturn(Optional.of(review));
+        when(reviewLikeRepository.insertIfAbsent(1L, 1L)).thenReturn(1);
+        when(reviewRepository.incrementLikeCount(1L)).thenReturn(1);
 
         // Act
         ReviewResponse result = reviewService.likeReview(1L, 1L);
@@ -335,40 +413,49 @@ class ReviewServiceTest {
         // Assert
         assertNotNull(result);
         assertTrue(result.isLikedByCurrentUser());
+        assertEquals(1, result.getLikeCount());
 
-        verify(reviewRepository).findById(1L);
-        verify(userRepository).findById(1L);
-        verify(reviewLikeRepository).save(any(ReviewLike.class));
-        verify(reviewRepository).save(review);
+        verify(reviewRepository).findWithUserAndPubById(1L);
+        verifyNoInteractions(userRepository);
+        verify(reviewRepository, never()).save(any(Review.class));
+        verify(eventPublisher).publishEvent(new ReviewLikeChangedEvent(1L, 1L, 1L, true, 1));
     }
 
     @Test
     void likeReview_AlreadyLiked_ThrowsException() {
         // Arrange
-        when(reviewRepository.findById(anyLong())).thenReturn(Optional.of(review));
-        when(userRepository.findById(anyLong())).thenReturn(Optional.of(user));
-        when(reviewLikeRepository.existsByReviewIdAndUserId(anyLong(), anyLong())).thenReturn(true);
+        when(reviewRepository.findWithUserAndPubById(anyLong())).thenReturn(Optional.of(review));
+        when(reviewLikeRepository.insertIfAbsent(1L, 1L)).thenReturn(0);
 
         // Act & Assert
         RuntimeException exception = assertThrows(RuntimeException.class,
                 () -> reviewService.likeReview(1L, 1L));
 
         assertEquals("You have already liked this review", exception.getMessage());
-        verify(reviewLikeRepository, never()).save(any(ReviewLike.class));
+        verify(reviewRepository, never()).incrementLikeCount(anyLong());
+        verifyNoInteractions(eventPublisher);
     }
 
     @Test
-    void unlikeReview_Success() {
+    void likeReview_ReviewNotFound_ThrowsException() {
         // Arrange
-        ReviewLike like = ReviewLike.builder()
-                .id(1L)
-                .review(review)
-                .user(user)
-                .build();
+        when(reviewRepository.findWithUserAndPubById(anyLong())).thenReturn(Optional.empty());
 
-        when(reviewRepository.findById(anyLong())).thenReturn(Optional.of(review));
-        when(reviewLikeRepository.findByReviewIdAndUserId(anyLong(), anyLong())).thenReturn(Optional.of(like));
-        when(reviewRepository.save(any(Review.class))).thenReturn(review);
+        // Act & Assert
+        RuntimeException exception = assertThrows(RuntimeException.class,
+                () -> reviewService.likeReview(1L, 1L));
+
+        assertEquals("Review not found", exception.getMessage());
+        verifyNoInteractions(reviewLikeRepository);
+    }
+
+    @Test
+    void unlikeReview_Success() {
+        // Arrange
+        review.setLikeCount(1);
+        when(reviewRepository.findWithUserAndPubById(anyLong())).thenReturn(Optional.of(review));
+        when(reviewLikeRepository.bulkDeleteByReviewIdAndUserId(1L, 1L)).thenReturn(1);
+        when(reviewRepository.decrementLikeCount(1L)).thenReturn(0);
 
         // Act
         ReviewResponse result = reviewService.unlikeReview(1L, 1L);
@@ -376,56 +463,72 @@ class ReviewServiceTest {
         // Assert
         assertNotNull(result);
         assertFalse(result.isLikedByCurrentUser());
+        assertEquals(0, result.getLikeCount());
 
-        verify(reviewRepository).findById(1L);
-        verify(reviewLikeRepository).findByReviewIdAndUserId(1L, 1L);
-        verify(reviewLikeRepository).delete(like);
-        verify(reviewRepository).save(review);
+        verify(reviewRepository).findWithUserAndPubById(1L);
+        verify(reviewRepository, never()).save(any(Review.class));
+        verify(eventPublisher).publishEvent(new ReviewLikeChangedEvent(1L, 1L, 1L, false, 0));
     }
 
     @Test
     void unlikeReview_NotLiked_ThrowsException() {
         // Arrange
-        when(reviewRepository.findById(anyLong())).thenReturn(Optional.of(review));
-        when(reviewLikeRepository.findByReviewIdAndUserId(anyLong(), anyLong())).thenReturn(Optional.empty());
+        when(reviewRepository.findWithUserAndPubById(anyLong())).thenReturn(Optional.of(review));
+        when(reviewLikeRepository.bulkDeleteByReviewIdAndUserId(1L, 1L)).thenReturn(0);
 
         // Act & Assert
         RuntimeException exception = assertThrows(RuntimeException.class,
                 () -> reviewService.unlikeReview(1L, 1L));
 
         assertEquals("You haven't liked this review", exception.getMessage());
-        verify(reviewLikeRepository, never()).delete(any(ReviewLike.class));
+        verify(reviewRepository, never()).decrementLikeCount(anyLong());
     }
 
     @Test
     void updatePubRating_MultipleReviews_CalculatesAverage() {
-        // Arrange
-        Review review2 = Review.builder()
-                .id(2L)
-                .user(user)
-                .pub(pub)
-                .rate(3)
-                .build();
-
-        Review review3 = Review.builder()
-                .id(3L)
-                .user(user)
-                .pub(pub)
-                .rate(4)
-                .build();
-
-        when(reviewRepository.findByPubId(anyLong())).thenReturn(Arrays.asList(review, review2, review3));
+        // Arrange: one review each of 3, 4 and 5 stars
+        when(pubRatingStatsRepository.findById(1L)).thenReturn(Optional.of(
+                PubRatingStats.builder().pubId(1L).stars3(1).stars4(1).stars5(1).build()));
         when(pubRepository.findById(anyLong())).thenReturn(Optional.of(pub));
-        when(userRepository.findById(anyLong())).thenReturn(Optional.of(user));
-        when(reviewRepository.save(any(Review.class))).thenReturn(review);
-        when(reviewLikeRepository.existsByReviewIdAndUserId(anyLong(), anyLong())).thenReturn(false);
 
         // Act
-        reviewService.createReview(reviewRequest, 1L);
+        reviewService.updatePubRating(1L);
 
         // Assert
         verify(pubRepository).save(argThat(p ->
                 p.getRating().compareTo(new BigDecimal("4.0")) == 0
         ));
+        verify(eventPublisher).publishEvent(new PubRatingChangedEvent(1L, new BigDecimal("4.0")));
+    }
+
+    @Test
+    void updatePubRating_AverageUnchanged_LeavesPubAndListenersAlone() {
+        // Arrange
+        pub.setRating(new BigDecimal("5.0"));
+        when(pubRatingStatsRepository.findById(1L)).thenReturn(Optional.of(
+                PubRatingStats.builder().pubId(1L).stars5(1).build()));
+        when(pubRepository.findById(anyLong())).thenReturn(Optional.of(pub));
+
+        // Act
+        reviewService.updatePubRating(1L);
+
+        // Assert
+        verify(pubRepository, never()).save(any(Pub.class));
+        verify(eventPublisher, never()).publishEvent(any(PubRatingChangedEvent.class));
+    }
+
+    @Test
+    void updatePubRating_RoundsHalfUpFromStarCounts() {
+        // Arrange: 4, 4 and 5 stars average 4.33
+        when(pubRatingStatsRepository.findById(1L)).thenReturn(Optional.of(
+                PubRatingStats.builder().pubId(1L).stars4(2).stars5(1).build()));
+        when(pubRepository.findById(1L)).thenReturn(Optional.of(pub));
+
+        // Act
+        reviewService.updatePubRating(1L);
+
+        // Assert
+        verify(eventPublisher).publishEvent(new PubRatingChangedEvent(1L, new BigDecimal("4.3")));
+        verify(reviewRepository, never()).findByPubId(anyLong());
     }
-}
\ No newline at end of file
+}
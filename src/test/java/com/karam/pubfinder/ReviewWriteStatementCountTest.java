@@ -0,0 +1,139 @@
+package com.karam.pubfinder;
+
+import com.karam.pubfinder.dto.ReviewRequest;
+import com.karam.pubfinder.dto.ReviewResponse;
+import com.karam.pubfinder.entity.Pub;
+import com.karam.pubfinder.entity.User;
+import com.karam.pubfinder.repository.PubRepository;
+import com.karam.pubfinder.repository.UserRepository;
+import com.karam.pubfinder.service.ReviewService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.UUID;
+
+import static com.karam.pubfinder.SqlStatementAssertions.assertStatementCount;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Statement budgets for the review write paths, against the configured database. Each test
+ * works on its own user and pub. Users and pubs are served from the second-level cache, so
+ * they only cost a statement when they are not cached yet. Every path other than
+ * {@code createReview} reads its review together with author and pub in one statement, so its
+ * budget holds whatever the cache holds.
+ */
+@SpringBootTest
+class ReviewWriteStatementCountTest {
+
+    @Autowired
+    private ReviewService reviewService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PubRepository pubRepository;
+
+    private Long userId;
+    private Long pubId;
+
+    @BeforeEach
+    void setUp() {
+        String suffix = UUID.randomUUID().toString().substring(0, 8);
+        userId = userRepository.save(User.builder()
+                .username("stmt-" + suffix)
+                .password("not-a-real-hash")
+                .name("Statement")
+                .surname("Count")
+                .email("stmt-" + suffix + "@example.com")
+                .build()).getId();
+        pubId = pubRepository.save(Pub.builder()
+                .title("Statement Count Arms " + suffix)
+                .build()).getId();
+    }
+
+    @Test
+    void createReview_InsertAndStarCount() {
+        // Act
+        ReviewResponse review = assertStatementCount(2, () -> reviewService.createReview(request(4), userId));
+
+        // Assert
+        assertFalse(review.isLikedByCurrentUser());
+    }
+
+    @Test
+    void updateReview_TextOnly_LoadAndUpdate() {
+        // Arrange
+        Long reviewId = reviewService.createReview(request(4), userId).getId();
+
+        // Act
+        ReviewResponse review = assertStatementCount(2,
+                () -> reviewService.updateReview(reviewId, request(4, "Edited statement count review"), userId));
+
+        // Assert
+        assertEquals("Edited statement count review", review.getContent());
+        assertEquals(4, review.getRate());
+    }
+
+    @Test
+    void updateReview_RateChanged_AlsoMovesStarCount() {
+        // Arrange
+        Long reviewId = reviewService.createReview(request(4), userId).getId();
+
+        // Act
+        ReviewResponse review = assertStatementCount(3, () -> reviewService.updateReview(reviewId, request(2), userId));
+
+        // Assert
+        assertEquals(2, review.getRate());
+    }
+
+    @Test
+    void likeReview_LoadInsertAndCount() {
+        // Arrange
+        Long reviewId = reviewService.createReview(request(5), userId).getId();
+
+        // Act
+        ReviewResponse review = assertStatementCount(3, () -> reviewService.likeReview(reviewId, userId));
+
+        // Assert
+        assertEquals(1, review.getLikeCount());
+        assertTrue(review.isLikedByCurrentUser());
+    }
+
+    @Test
+    void unlikeReview_LoadDeleteAndCount() {
+        // Arrange
+        Long reviewId = reviewService.createReview(request(5), userId).getId();
+        reviewService.likeReview(reviewId, userId);
+
+        // Act
+        ReviewResponse review = assertStatementCount(3, () -> reviewService.unlikeReview(reviewId, userId));
+
+        // Assert
+        assertEquals(0, review.getLikeCount());
+        assertFalse(review.isLikedByCurrentUser());
+    }
+
+    @Test
+    void deleteReview_LoadMarkAndStarCount() {
+        // Arrange
+        Long reviewId = reviewService.createReview(request(3), userId).getId();
+
+        // Act & Assert
+        assertStatementCount(3, () -> reviewService.deleteReview(reviewId, userId));
+    }
+
+    private ReviewRequest request(int rate) {
+        return request(rate, "Statement count review");
+    }
+
+    private ReviewRequest request(int rate, String content) {
+        return ReviewRequest.builder()
+                .pubId(pubId)
+                .content(content)
+                .rate(rate)
+                .build();
+    }
+}
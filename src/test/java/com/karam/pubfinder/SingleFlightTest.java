@@ -0,0 +1,88 @@
+package com.karam.pubfinder;
+
+import com.karam.pubfinder.utils.SingleFlight;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SingleFlightTest {
+
+    @Test
+    void execute_ConcurrentCallersShareOneLoad() throws Exception {
+        // Arrange
+        SingleFlight<Long, String> flight = new SingleFlight<>();
+        AtomicInteger loaderCalls = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        int callers = 8;
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            // Act
+            List<Future<String>> results = new ArrayList<>();
+            for (int i = 0; i < callers; i++) {
+                results.add(executor.submit(() -> flight.execute(1L, () -> {
+                    loaderCalls.incrementAndGet();
+                    await(release);
+                    return "pub-1";
+                })));
+            }
+            while (flight.getSharedResults() < callers - 1) {
+                Thread.onSpinWait();
+            }
+            release.countDown();
+
+            // Assert
+            for (Future<String> result : results) {
+                assertEquals("pub-1", result.get(5, TimeUnit.SECONDS));
+            }
+        }
+        assertEquals(1, loaderCalls.get());
+        assertEquals(1, flight.getLoads());
+        assertEquals(callers - 1, flight.getSharedResults());
+    }
+
+    @Test
+    void execute_LoadsAgainOnceThePreviousLoadCompleted() {
+        // Arrange
+        SingleFlight<Long, String> flight = new SingleFlight<>();
+        AtomicInteger loaderCalls = new AtomicInteger();
+
+        // Act
+        flight.execute(1L, () -> "v" + loaderCalls.incrementAndGet());
+        String second = flight.execute(1L, () -> "v" + loaderCalls.incrementAndGet());
+
+        // Assert
+        assertEquals("v2", second);
+        assertEquals(0, flight.getSharedResults());
+    }
+
+    @Test
+    void execute_FailureIsRethrownAndNotRemembered() {
+        // Arrange
+        SingleFlight<Long, String> flight = new SingleFlight<>();
+
+        // Act & Assert
+        RuntimeException exception = assertThrows(RuntimeException.class,
+                () -> flight.execute(1L, () -> {
+                    throw new RuntimeException("Pub not found with id: 1");
+                }));
+        assertEquals("Pub not found with id: 1", exception.getMessage());
+        assertEquals("ok", flight.execute(1L, () -> "ok"));
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.karam.pubfinder;
+
+import com.karam.pubfinder.utils.SqlStatementStats;
+
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Query budget assertions for integration tests running against a real datasource.
+ * <pre>
+ * ReviewResponse review = assertStatementCount(3, () -> reviewService.likeReview(reviewId, userId));
+ * </pre>
+ */
+public final class SqlStatementAssertions {
+
+    private SqlStatementAssertions() {
+    }
+
+    public static <T> T assertStatementCount(int expected, Supplier<T> action) {
+        SqlStatementStats stats = SqlStatementStats.reset();
+        try {
+            T result = action.get();
+            assertEquals(expected, stats.getStatementCount(), "Unexpected number of SQL statements");
+            return result;
+        } finally {
+            SqlStatementStats.clear();
+        }
+    }
+
+    public static void assertStatementCount(int expected, Runnable action) {
+        assertStatementCount(expected, () -> {
+            action.run();
+            return null;
+        });
+    }
+
+    public static <T> T assertStatementCountAtMost(int budget, Supplier<T> action) {
+        SqlStatementStats stats = SqlStatementStats.reset();
+        try {
+            T result = action.get();
+            assertTrue(stats.getStatementCount() <= budget,
+                    "Expected at most " + budget + " SQL statements but got " + stats.getStatementCount());
+            return result;
+        } finally {
+            SqlStatementStats.clear();
+        }
+    }
+}
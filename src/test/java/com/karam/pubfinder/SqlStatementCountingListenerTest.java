@@ -0,0 +1,57 @@
+package com.karam.pubfinder;
+
+import com.karam.pubfinder.config.SqlStatementCountingListener;
+import com.karam.pubfinder.utils.SqlStatementStats;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class SqlStatementCountingListenerTest {
+
+    private final SqlStatementCountingListener listener = new SqlStatementCountingListener();
+
+    @AfterEach
+    void tearDown() {
+        SqlStatementStats.clear();
+    }
+
+    @Test
+    void afterQuery_CountsStatementsAndJdbcTime() {
+        // Arrange
+        ExecutionInfo select = mock(ExecutionInfo.class);
+        when(select.getElapsedTime()).thenReturn(4L);
+        ExecutionInfo update = mock(ExecutionInfo.class);
+        when(update.getElapsedTime()).thenReturn(6L);
+
+        // Act
+        int counted = SqlStatementAssertions.assertStatementCount(2, () -> {
+            listener.afterQuery(select, Collections.emptyList());
+            listener.afterQuery(update, Collections.emptyList());
+            return SqlStatementStats.current().getStatementCount();
+        });
+
+        // Assert
+        assertEquals(2, counted);
+    }
+
+    @Test
+    void reset_StartsANewTally() {
+        // Arrange
+        ExecutionInfo select = mock(ExecutionInfo.class);
+        when(select.getElapsedTime()).thenReturn(3L);
+        listener.afterQuery(select, Collections.emptyList());
+
+        // Act
+        SqlStatementStats stats = SqlStatementStats.reset();
+        listener.afterQuery(select, Collections.emptyList());
+
+        // Assert
+        assertEquals(1, stats.getStatementCount());
+        assertEquals(3L, stats.getJdbcTimeMillis());
+    }
+}
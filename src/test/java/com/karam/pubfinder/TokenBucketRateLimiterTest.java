@@ -0,0 +1,88 @@
+package com.karam.pubfinder;
+
+import com.karam.pubfinder.utils.TokenBucketRateLimiter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TokenBucketRateLimiterTest {
+
+    private static final long SECOND = Duration.ofSeconds(1).toNanos();
+
+    private AtomicLong clock;
+    private TokenBucketRateLimiter limiter;
+
+    @BeforeEach
+    void setUp() {
+        clock = new AtomicLong(1_000 * SECOND);
+        // Burst of 3, one token every 10 seconds
+        limiter = new TokenBucketRateLimiter(3, 6, 2, clock::get);
+    }
+
+    @Test
+    void tryAcquire_AllowsBurstThenRejects() {
+        // Act & Assert
+        assertEquals(0, limiter.tryAcquire("10.0.0.1"));
+        assertEquals(0, limiter.tryAcquire("10.0.0.1"));
+        assertEquals(0, limiter.tryAcquire("10.0.0.1"));
+
+        long wait = limiter.tryAcquire("10.0.0.1");
+        assertEquals(10 * SECOND, wait);
+    }
+
+    @Test
+    void tryAcquire_RefillsOverTime() {
+        // Arrange
+        for (int i = 0; i < 3; i++) {
+            limiter.tryAcquire("10.0.0.1");
+        }
+
+        // Act
+        clock.addAndGet(10 * SECOND);
+
+        // Assert
+        assertEquals(0, limiter.tryAcquire("10.0.0.1"));
+        assertTrue(limiter.tryAcquire("10.0.0.1") > 0);
+    }
+
+    @Test
+    void tryAcquire_KeysAreIndependent() {
+        // Arrange
+        for (int i = 0; i < 3; i++) {
+            limiter.tryAcquire("10.0.0.1");
+        }
+
+        // Act & Assert
+        assertTrue(limiter.tryAcquire("10.0.0.1") > 0);
+        assertEquals(0, limiter.tryAcquire("10.0.0.2"));
+    }
+
+    @Test
+    void tryAcquire_EvictsRefilledBucketsWhenKeyTableIsFull() {
+        // Arrange
+        limiter.tryAcquire("10.0.0.1");
+        limiter.tryAcquire("10.0.0.2");
+        clock.addAndGet(60 * SECOND);
+
+        // Act
+        limiter.tryAcquire("10.0.0.3");
+
+        // Assert
+        assertEquals(1, limiter.size());
+    }
+
+    @Test
+    void tryAcquire_KeyTableNeverExceedsLimit() {
+        // Act
+        for (int i = 0; i < 100; i++) {
+            limiter.tryAcquire("10.0.0." + i);
+        }
+
+        // Assert
+        assertTrue(limiter.size() <= 2);
+    }
+}
@@ -0,0 +1,94 @@
+package com.karam.pubfinder;
+
+import com.karam.pubfinder.entity.RevokedToken;
+import com.karam.pubfinder.repository.RevokedTokenRepository;
+import com.karam.pubfinder.service.TokenRevocationService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TokenRevocationServiceTest {
+
+    @Mock
+    private RevokedTokenRepository revokedTokenRepository;
+
+    @InjectMocks
+    private TokenRevocationService tokenRevocationService;
+
+    @Test
+    void revoke_PersistsAndIsVisibleImmediately() {
+        // Act
+        tokenRevocationService.revoke("token-id", new Date(System.currentTimeMillis() + 60_000));
+
+        // Assert
+        assertTrue(tokenRevocationService.isRevoked("token-id"));
+        assertFalse(tokenRevocationService.isRevoked("other-id"));
+        assertFalse(tokenRevocationService.isRevoked(null));
+        verify(revokedTokenRepository).save(argThat(t -> "token-id".equals(t.getJti())));
+    }
+
+    @Test
+    void syncRevocations_FirstRunLoadsUnexpiredTokensThenPollsIncrementally() {
+        // Arrange
+        LocalDateTime revokedAt = LocalDateTime.now().minusSeconds(5);
+        RevokedToken fromPeer = RevokedToken.builder()
+                .jti("peer-token")
+                .expiresAt(LocalDateTime.now().plusHours(1))
+                .revokedAt(revokedAt)
+                .build();
+        when(revokedTokenRepository.findByExpiresAtAfter(any(LocalDateTime.class))).thenReturn(List.of(fromPeer));
+        when(revokedTokenRepository.findByRevokedAtAfter(any(LocalDateTime.class))).thenReturn(Collections.emptyList());
+
+        // Act
+        tokenRevocationService.syncRevocations();
+        tokenRevocationService.syncRevocations();
+
+        // Assert
+        assertTrue(tokenRevocationService.isRevoked("peer-token"));
+        verify(revokedTokenRepository).findByExpiresAtAfter(any(LocalDateTime.class));
+        verify(revokedTokenRepository).findByRevokedAtAfter(argThat(since -> since.isBefore(revokedAt)));
+    }
+
+    @Test
+    void afterSingletonsInstantiated_LoadsRevokedTokensBeforeTraffic() {
+        // Arrange
+        when(revokedTokenRepository.findByExpiresAtAfter(any(LocalDateTime.class))).thenReturn(List.of(RevokedToken.builder()
+                .jti("revoked-before-start")
+                .expiresAt(LocalDateTime.now().plusHours(1))
+                .revokedAt(LocalDateTime.now().minusMinutes(1))
+                .build()));
+
+        // Act
+        tokenRevocationService.afterSingletonsInstantiated();
+
+        // Assert
+        assertTrue(tokenRevocationService.isRevoked("revoked-before-start"));
+    }
+
+    @Test
+    void pruneExpired_DropsExpiredEntries() {
+        // Arrange
+        tokenRevocationService.revoke("expired", new Date(System.currentTimeMillis() - 1_000));
+        tokenRevocationService.revoke("live", new Date(System.currentTimeMillis() + 60_000));
+
+        // Act
+        tokenRevocationService.pruneExpired();
+
+        // Assert
+        assertFalse(tokenRevocationService.isRevoked("expired"));
+        assertTrue(tokenRevocationService.isRevoked("live"));
+        verify(revokedTokenRepository).deleteExpired(any(LocalDateTime.class));
+    }
+}
@@ -0,0 +1,199 @@
+package com.karam.pubfinder;
+
+import com.karam.pubfinder.entity.TrendingReviewScore;
+import com.karam.pubfinder.event.ReviewChangedEvent;
+import com.karam.pubfinder.event.ReviewLikeChangedEvent;
+import com.karam.pubfinder.repository.ReviewRepository;
+import com.karam.pubfinder.repository.TrendingReviewScoreRepository;
+import com.karam.pubfinder.service.ReviewService;
+import com.karam.pubfinder.service.TrendingService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TrendingServiceTest {
+
+    private static final long HALF_LIFE = 1000;
+
+    @Mock
+    private ReviewService reviewService;
+
+    @Mock
+    private ReviewRepository reviewRepository;
+
+    @Mock
+    private TrendingReviewScoreRepository trendingReviewScoreRepository;
+
+    private AtomicLong now;
+    private TrendingService trendingService;
+
+    @BeforeEach
+    void setUp() {
+        now = new AtomicLong(1_000_000);
+        trendingService = new TrendingService(reviewService, reviewRepository, trendingReviewScoreRepository,
+                HALF_LIFE, 1.0, 3.0, 2, 100, 100, now::get);
+    }
+
+    @Test
+    void getTrendingReviewIds_RanksByLikes() {
+        // Arrange
+        created(1L, 10L);
+        created(2L, 10L);
+        liked(2L, 10L);
+
+        // Act
+        List<Long> trending = trendingService.getTrendingReviewIds(null, 10);
+
+        // Assert
+        assertEquals(List.of(2L, 1L), trending);
+    }
+
+    @Test
+    void getTrendingReviewIds_RecentActivityOutranksOlderActivity() {
+        // Arrange
+        created(1L, 10L);
+        liked(1L, 10L);
+        now.addAndGet(3 * HALF_LIFE);
+        created(2L, 10L);
+
+        // Act
+        List<Long> trending = trendingService.getTrendingReviewIds(null, 10);
+
+        // Assert: 4 points three half-lives ago are worth 0.5 now, against 3 fresh ones
+        assertEquals(List.of(2L, 1L), trending);
+    }
+
+    @Test
+    void getTrendingReviewIds_KeepsOnlyTopKPerScope() {
+        // Arrange
+        created(1L, 10L);
+        created(2L, 20L);
+        created(3L, 20L);
+        liked(3L, 20L);
+        liked(2L, 20L);
+        liked(2L, 20L);
+
+        // Act & Assert
+        assertEquals(List.of(2L, 3L), trendingService.getTrendingReviewIds(null, 10));
+        assertEquals(List.of(2L, 3L), trendingService.getTrendingReviewIds(20L, 10));
+        assertEquals(List.of(1L), trendingService.getTrendingReviewIds(10L, 10));
+        assertEquals(List.of(), trendingService.getTrendingReviewIds(30L, 10));
+    }
+
+    @Test
+    void getTrendingReviewIds_UnlikeAndDeleteTakeScoreBack() {
+        // Arrange
+        created(1L, 10L);
+        created(2L, 10L);
+        liked(1L, 10L);
+        trendingService.onReviewLikeChanged(new ReviewLikeChangedEvent(1L, 10L, 7L, false, 0));
+        liked(2L, 10L);
+
+        // Act
+        trendingService.onReviewChanged(new ReviewChangedEvent(2L, 10L, ReviewChangedEvent.Type.DELETED, true));
+
+        // Assert
+        assertEquals(List.of(1L), trendingService.getTrendingReviewIds(null, 10));
+        assertEquals(List.of(1L), trendingService.getTrendingReviewIds(10L, 10));
+    }
+
+    @Test
+    void getTrendingReviews_LoadsOnlyTheRankedReviews() {
+        // Arrange
+        created(1L, 10L);
+
+        // Act
+        trendingService.getTrendingReviews(null, 20, 5L);
+
+        // Assert
+        verify(reviewService).getReviewsByIds(List.of(1L), 5L);
+        verifyNoInteractions(reviewRepository);
+    }
+
+    @Test
+    void checkpoint_MergesDecayedScoresThatRestoreToTheSameRanking() {
+        // Arrange
+        trendingService.restore();
+        created(1L, 10L);
+        created(2L, 10L);
+        liked(2L, 10L);
+        now.addAndGet(HALF_LIFE);
+        when(trendingReviewScoreRepository.tryLockForCheckpoint()).thenReturn(true);
+
+        // Act
+        trendingService.checkpoint();
+
+        // Assert
+        ArgumentCaptor<Long[]> reviewIds = ArgumentCaptor.forClass(Long[].class);
+        ArgumentCaptor<Long[]> pubIds = ArgumentCaptor.forClass(Long[].class);
+        ArgumentCaptor<Double[]> scores = ArgumentCaptor.forClass(Double[].class);
+        ArgumentCaptor<LocalDateTime> checkpointedAt = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(trendingReviewScoreRepository).merge(reviewIds.capture(), pubIds.capture(), scores.capture(),
+                checkpointedAt.capture(), eq((double) HALF_LIFE));
+        verify(trendingReviewScoreRepository).deleteCheckpointedBefore(any(LocalDateTime.class));
+        assertArrayEquals(new Long[]{2L, 1L}, reviewIds.getValue());
+        assertEquals(2.0, scores.getValue()[0], 1e-9);
+        assertEquals(1.5, scores.getValue()[1], 1e-9);
+
+        TrendingService restarted = new TrendingService(reviewService, reviewRepository,
+                trendingReviewScoreRepository, HALF_LIFE, 1.0, 3.0, 2, 100, 100, now::get);
+        when(trendingReviewScoreRepository.findAll()).thenReturn(List.of(
+                row(reviewIds.getValue()[0], pubIds.getValue()[0], scores.getValue()[0], checkpointedAt.getValue()),
+                row(reviewIds.getValue()[1], pubIds.getValue()[1], scores.getValue()[1], checkpointedAt.getValue())));
+        restarted.restore();
+        assertEquals(List.of(2L, 1L), restarted.getTrendingReviewIds(null, 10));
+    }
+
+    @Test
+    void checkpoint_AnotherNodeHoldsTheLock_WritesNothing() {
+        // Arrange
+        trendingService.restore();
+        created(1L, 10L);
+        when(trendingReviewScoreRepository.tryLockForCheckpoint()).thenReturn(false);
+
+        // Act
+        trendingService.checkpoint();
+
+        // Assert
+        verify(trendingReviewScoreRepository, never()).merge(any(), any(), any(), any(), anyDouble());
+        verify(trendingReviewScoreRepository, never()).deleteCheckpointedBefore(any());
+        assertEquals(List.of(1L), trendingService.getTrendingReviewIds(null, 10));
+    }
+
+    @Test
+    void checkpoint_BeforeRestore_LeavesTheTableAlone() {
+        // Act
+        trendingService.checkpoint();
+
+        // Assert
+        verifyNoInteractions(trendingReviewScoreRepository);
+    }
+
+    private void created(Long reviewId, Long pubId) {
+        trendingService.onReviewChanged(new ReviewChangedEvent(reviewId, pubId, ReviewChangedEvent.Type.CREATED, true));
+    }
+
+    private void liked(Long reviewId, Long pubId) {
+        trendingService.onReviewLikeChanged(new ReviewLikeChangedEvent(reviewId, pubId, 7L, true, 1));
+    }
+
+    private static TrendingReviewScore row(Long reviewId, Long pubId, double score, LocalDateTime checkpointedAt) {
+        return TrendingReviewScore.builder()
+                .reviewId(reviewId)
+                .pubId(pubId)
+                .score(score)
+                .checkpointedAt(checkpointedAt)
+                .build();
+    }
+}